@@ -0,0 +1,354 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.flyway;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.flywaydb.core.internal.placeholder.MysqlH2SqlReplacer;
+import org.springframework.util.DigestUtils;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link MysqlH2SqlReplacer}: cache translated SQL on disk per migration script
+ * 
+ * <p>
+ * Registered as a {@link Callback} too, so that it knows which script is being migrated. Each script has one cache
+ * file keyed by the script, its checksum and the replacer version (implementation version and class file hash). The
+ * file is loaded once when the script starts and written once when it succeeds, which replaces older files of the
+ * same script. Statements outside a SQL migration and cache failures fall back to translation.
+ * </p>
+ */
+@Slf4j
+public class CachingMysqlH2SqlReplacer extends MysqlH2SqlReplacer implements Callback {
+	
+	/**
+	 * Cache file suffix
+	 */
+	public static final String SUFFIX = ".cache";
+	
+	/**
+	 * Cache directory
+	 */
+	private final Path directory;
+	
+	/**
+	 * Replacer version
+	 */
+	@Getter
+	private final String version;
+	
+	/**
+	 * Script being migrated
+	 */
+	private Script script;
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param directory cache directory
+	 */
+	public CachingMysqlH2SqlReplacer(@NonNull Path directory) {
+		
+		this(directory, computeVersion());
+	}
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param directory cache directory
+	 * @param version replacer version
+	 */
+	protected CachingMysqlH2SqlReplacer(@NonNull Path directory, @NonNull String version) {
+		
+		this.directory = directory;
+		this.version = version;
+	}
+	
+	@Override
+	public boolean supports(Event event, Context context) {
+		
+		return event == Event.BEFORE_EACH_MIGRATE || event == Event.AFTER_EACH_MIGRATE
+			|| event == Event.AFTER_EACH_MIGRATE_ERROR;
+	}
+	
+	@Override
+	public boolean canHandleInTransaction(Event event, Context context) {
+		
+		return true;
+	}
+	
+	@Override
+	public void handle(@NonNull Event event, @NonNull Context context) {
+		
+		if (event == Event.BEFORE_EACH_MIGRATE) {
+			
+			MigrationInfo info = context.getMigrationInfo();
+			
+			this.begin(info != null ? info.getScript() : null, info != null ? info.getChecksum() : null);
+		}
+		else {
+			
+			this.end(event == Event.AFTER_EACH_MIGRATE);
+		}
+	}
+	
+	/**
+	 * Begin script: load its cache file if any
+	 * 
+	 * @param script script name
+	 * @param checksum checksum ({@code null} for Java migrations, which are not cached)
+	 */
+	public void begin(String script, Integer checksum) {
+		
+		this.script = null;
+		
+		if (script == null || checksum == null) {
+			
+			return;
+		}
+		
+		String prefix = DigestUtils.md5DigestAsHex(script.getBytes(StandardCharsets.UTF_8));
+		String key = DigestUtils.md5DigestAsHex((this.version + "\n" + checksum).getBytes(StandardCharsets.UTF_8));
+		Path file = this.directory.resolve(prefix + "-" + key + SUFFIX);
+		
+		this.script = new Script(prefix, file, this.load(file));
+	}
+	
+	/**
+	 * End script: save its cache file if translated and successful
+	 * 
+	 * @param success {@code true} if the script succeeded
+	 */
+	public void end(boolean success) {
+		
+		Script script = this.script;
+		this.script = null;
+		
+		if (script != null && success && script.modified) {
+			
+			this.save(script);
+		}
+	}
+	
+	@Override
+	public String replacePlaceholders(String input) {
+		
+		Script script = this.script;
+		
+		if (script == null || input == null) {
+			
+			return this.translate(input);
+		}
+		
+		String output = script.translations.get(input);
+		
+		if (output == null) {
+			
+			output = this.translate(input);
+			script.translations.put(input, output);
+			script.modified = true;
+		}
+		
+		return output;
+	}
+	
+	/**
+	 * Translate
+	 * 
+	 * @param input SQL
+	 * @return translated SQL
+	 */
+	protected String translate(String input) {
+		
+		return super.replacePlaceholders(input);
+	}
+	
+	/**
+	 * Load cache file
+	 * 
+	 * @param file cache file
+	 * @return translations by original SQL (empty if not found or failed)
+	 */
+	private Map<String, String> load(Path file) {
+		
+		Map<String, String> translations = new LinkedHashMap<>();
+		
+		if (!Files.isRegularFile(file)) {
+			
+			return translations;
+		}
+		
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			
+			for (int count = input.readInt(); count > 0; count--) {
+				
+				translations.put(readString(input), readString(input));
+			}
+		}
+		catch (IOException e) {
+			
+			log.debug("Failed to read translation cache: {}", file, e);
+			translations.clear();
+		}
+		
+		return translations;
+	}
+	
+	/**
+	 * Save cache file and delete the other files of the same script
+	 * 
+	 * @param script {@link Script}
+	 */
+	private void save(Script script) {
+		
+		try {
+			
+			Files.createDirectories(this.directory);
+			
+			Path temp = Files.createTempFile(this.directory, "translation-", ".tmp");
+			
+			try (OutputStream stream = Files.newOutputStream(temp);
+				DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream))) {
+				
+				output.writeInt(script.translations.size());
+				
+				for (Map.Entry<String, String> translation : script.translations.entrySet()) {
+					
+					writeString(output, translation.getKey());
+					writeString(output, translation.getValue());
+				}
+			}
+			
+			Files.move(temp, script.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			
+			String stale = script.prefix + "-*" + SUFFIX;
+			
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, stale)) {
+				
+				for (Path file : files) {
+					
+					if (!file.equals(script.file)) {
+						
+						Files.deleteIfExists(file);
+					}
+				}
+			}
+		}
+		catch (IOException e) {
+			
+			log.debug("Failed to write translation cache: {}", script.file, e);
+		}
+	}
+	
+	/**
+	 * Read string
+	 * 
+	 * @param input {@link DataInputStream}
+	 * @return string
+	 * @throws IOException if failed to read
+	 */
+	private static String readString(DataInputStream input) throws IOException {
+		
+		byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+		
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Write string
+	 * 
+	 * @param output {@link DataOutputStream}
+	 * @param value string
+	 * @throws IOException if failed to write
+	 */
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+	
+	/**
+	 * Compute the version of {@link MysqlH2SqlReplacer}
+	 * 
+	 * @return version
+	 */
+	protected static String computeVersion() {
+		
+		Class<?> type = MysqlH2SqlReplacer.class;
+		Package pkg = type.getPackage();
+		String version = pkg != null ? pkg.getImplementationVersion() : null;
+		
+		try (InputStream input = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+			
+			return version + ":" + (input != null ? DigestUtils.md5DigestAsHex(input) : "unknown");
+		}
+		catch (IOException e) {
+			
+			throw new IllegalStateException("Failed to read replacer class", e);
+		}
+	}
+	
+	/**
+	 * Script being migrated
+	 */
+	@RequiredArgsConstructor
+	private static class Script {
+		
+		/**
+		 * Cache file prefix of the script
+		 */
+		private final String prefix;
+		
+		/**
+		 * Cache file
+		 */
+		private final Path file;
+		
+		/**
+		 * Translations by original SQL
+		 */
+		private final Map<String, String> translations;
+		
+		/**
+		 * {@code true} if translated since loaded
+		 */
+		private boolean modified;
+	}
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.flyway;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link Callback}: per-script migration timing
+ * 
+ * <p>
+ * MySQL-H2 translation happens inside the migration executor, so the recorded time includes it.
+ * </p>
+ */
+@Slf4j
+public class MigrationTimingCallback implements Callback {
+	
+	/**
+	 * Meter name
+	 */
+	public static final String METER_NAME = "flyway.migration";
+	
+	/**
+	 * Slow threshold
+	 */
+	@Setter
+	@Accessors(chain = true)
+	@NonNull
+	private Duration slowThreshold = Duration.ofSeconds(1);
+	
+	/**
+	 * {@link MeterRegistry}
+	 */
+	@Setter
+	@Accessors(chain = true)
+	private MeterRegistry meterRegistry;
+	
+	/**
+	 * Start time of the migration running on the current thread
+	 */
+	private final ThreadLocal<Long> start = new ThreadLocal<>();
+	
+	/**
+	 * {@link Timing}s
+	 */
+	private final List<Timing> timings = new ArrayList<>();
+	
+	@Override
+	public boolean supports(Event event, Context context) {
+		
+		return event == Event.BEFORE_EACH_MIGRATE || event == Event.AFTER_EACH_MIGRATE
+			|| event == Event.AFTER_EACH_MIGRATE_ERROR;
+	}
+	
+	@Override
+	public boolean canHandleInTransaction(Event event, Context context) {
+		
+		return true;
+	}
+	
+	@Override
+	public void handle(@NonNull Event event, @NonNull Context context) {
+		
+		if (event == Event.BEFORE_EACH_MIGRATE) {
+			
+			this.start.set(System.nanoTime());
+			
+			return;
+		}
+		
+		Long start = this.start.get();
+		this.start.remove();
+		
+		if (start == null) {
+			
+			return;
+		}
+		
+		MigrationInfo info = context.getMigrationInfo();
+		String script = info != null ? info.getScript() : "unknown";
+		Timing timing = new Timing(script, System.nanoTime() - start, event == Event.AFTER_EACH_MIGRATE);
+		
+		synchronized (this.timings) {
+			
+			this.timings.add(timing);
+		}
+		
+		if (this.meterRegistry != null) {
+			
+			/* @formatter:off */
+			Timer.builder(METER_NAME)
+				.tag("script", script)
+				.tag("outcome", timing.isSuccess() ? "success" : "error")
+				.register(this.meterRegistry)
+				.record(timing.getNanos(), TimeUnit.NANOSECONDS);
+			/* @formatter:on */
+		}
+	}
+	
+	/**
+	 * Log the report sorted by time (slowest first) and clear the recorded timings
+	 */
+	public void report() {
+		
+		List<Timing> timings;
+		
+		synchronized (this.timings) {
+			
+			timings = new ArrayList<>(this.timings);
+			this.timings.clear();
+		}
+		
+		if (timings.isEmpty()) {
+			
+			return;
+		}
+		
+		timings.sort(Comparator.comparingLong(Timing::getNanos).reversed());
+		
+		long total = timings.stream().mapToLong(Timing::getNanos).sum();
+		log.info("Migrated {} scripts in {} ms", timings.size(), TimeUnit.NANOSECONDS.toMillis(total));
+		
+		for (Timing timing : timings) {
+			
+			long millis = TimeUnit.NANOSECONDS.toMillis(timing.getNanos());
+			
+			if (timing.getNanos() >= this.slowThreshold.toNanos()) {
+				
+				log.warn("Slow migration: {} ms {}{}", millis, timing.getScript(), timing.isSuccess() ? "" : " (failed)");
+			}
+			else {
+				
+				log.info("Migration: {} ms {}{}", millis, timing.getScript(), timing.isSuccess() ? "" : " (failed)");
+			}
+		}
+	}
+	
+	/**
+	 * Timing
+	 */
+	@RequiredArgsConstructor
+	@Getter
+	protected static class Timing {
+		
+		/**
+		 * Script
+		 */
+		private final String script;
+		
+		/**
+		 * Time in nanoseconds
+		 */
+		private final long nanos;
+		
+		/**
+		 * Success
+		 */
+		private final boolean success;
+	}
+}
@@ -16,10 +16,48 @@
 
 package org.springframework.boot.autoconfigure.flyway;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
 import org.flywaydb.core.CustomFlyway;
 import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
 import org.flywaydb.core.internal.placeholder.MysqlH2SqlReplacer;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
 
+import lombok.Data;
+import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.Accessors;
 
@@ -35,16 +73,549 @@ public class MysqlH2FlywayMigrationStrategy implements FlywayMigrationStrategy {
 	@Accessors(chain = true)
 	private boolean clean;
 	
+	/**
+	 * Translated SQL cache directory, one file per migration script (translation is not cached if not specified)
+	 */
+	@Setter
+	@Accessors(chain = true)
+	private String translationCacheDir;
+	
+	/**
+	 * Independent migration groups, migrated concurrently if not empty
+	 */
+	@Setter
+	@Accessors(chain = true)
+	@NonNull
+	private List<MigrationGroup> groups = new ArrayList<>();
+	
+	/**
+	 * Maximum number of groups migrated at once (0: number of groups)
+	 */
+	@Setter
+	@Accessors(chain = true)
+	private int parallelism;
+	
+	/**
+	 * H2 snapshot directory (snapshots are disabled if not specified)
+	 */
+	@Setter
+	@Accessors(chain = true)
+	private String snapshotDir;
+	
+	/**
+	 * {@link MigrationTimingCallback}
+	 */
+	@Setter
+	@Accessors(chain = true)
+	private MigrationTimingCallback timingCallback;
+	
 	@Override
 	public void migrate(Flyway source) {
 		
-		CustomFlyway flyway = new CustomFlyway(source, new MysqlH2SqlReplacer());
+		try {
+			
+			if (this.groups.isEmpty() && StringUtils.hasText(this.snapshotDir) && this.isH2(source)) {
+				
+				this.migrateWithSnapshot(source);
+			}
+			else if (this.groups.isEmpty()) {
+				
+				this.migrateInternal(source);
+			}
+			else {
+				
+				this.migrateGroups(source);
+			}
+		}
+		finally {
+			
+			if (this.timingCallback != null) {
+				
+				this.timingCallback.report();
+			}
+		}
+	}
+	
+	/**
+	 * Migrate internal
+	 * 
+	 * @param source {@link Flyway}
+	 */
+	protected void migrateInternal(@NonNull Flyway source) {
+		
+		MysqlH2SqlReplacer replacer = this.createSqlReplacer();
+		List<Callback> callbacks = new ArrayList<>();
+		
+		if (this.timingCallback != null) {
+			
+			callbacks.add(this.timingCallback);
+		}
+		
+		if (replacer instanceof Callback) {
+			
+			// e.g. CachingMysqlH2SqlReplacer: needs to know the script being migrated
+			callbacks.add((Callback) replacer);
+		}
+		
+		CustomFlyway flyway = new CustomFlyway(this.withCallbacks(source, callbacks), replacer);
 		
 		if (this.clean) {
 			
-			flyway.clean();
+			this.clean(source, flyway);
 		}
 		
 		flyway.migrate();
 	}
+	
+	/**
+	 * Create {@link MysqlH2SqlReplacer}
+	 * 
+	 * @return {@link MysqlH2SqlReplacer}
+	 */
+	protected MysqlH2SqlReplacer createSqlReplacer() {
+		
+		if (!StringUtils.hasText(this.translationCacheDir)) {
+			
+			return new MysqlH2SqlReplacer();
+		}
+		
+		return new CachingMysqlH2SqlReplacer(Paths.get(this.translationCacheDir));
+	}
+	
+	/**
+	 * Add {@link Callback}s to {@link Flyway}
+	 * 
+	 * @param source {@link Flyway}
+	 * @param callbacks {@link Callback}s
+	 * @return {@link Flyway}
+	 */
+	protected Flyway withCallbacks(@NonNull Flyway source, @NonNull List<Callback> callbacks) {
+		
+		if (callbacks.isEmpty()) {
+			
+			return source;
+		}
+		
+		Configuration configuration = source.getConfiguration();
+		
+		List<Callback> all = new ArrayList<>(Arrays.asList(configuration.getCallbacks()));
+		all.addAll(callbacks);
+		
+		/* @formatter:off */
+		return Flyway.configure(configuration.getClassLoader())
+			.configuration(configuration)
+			.callbacks(all.toArray(new Callback[0]))
+			.load();
+		/* @formatter:on */
+	}
+	
+	/**
+	 * Clean: drop all objects at once if the target is H2 and only contains the configured schemas (not in group mode)
+	 * 
+	 * @param source {@link Flyway}
+	 * @param flyway {@link Flyway} to clean otherwise
+	 */
+	protected void clean(@NonNull Flyway source, @NonNull Flyway flyway) {
+		
+		Configuration configuration = source.getConfiguration();
+		List<String> schemas = Arrays.asList(configuration.getSchemas());
+		
+		// Groups clean concurrently, so dropping the whole database would race with the other groups
+		if (configuration.isCleanDisabled() || schemas.isEmpty() || !this.groups.isEmpty() || !this.isH2(source)
+			|| !this.containsOnly(source, schemas)) {
+			
+			flyway.clean();
+			
+			return;
+		}
+		
+		List<String> sqls = new ArrayList<>();
+		sqls.add("DROP ALL OBJECTS");
+		
+		for (String schema : schemas) {
+			
+			sqls.add(String.format("CREATE SCHEMA IF NOT EXISTS \"%s\"", schema.replace("\"", "\"\"")));
+		}
+		
+		this.execute(source, sqls.toArray(new String[0]));
+	}
+	
+	/**
+	 * Check if the target H2 database contains only the specified schemas (and an empty {@code PUBLIC} schema)
+	 * 
+	 * @param source {@link Flyway}
+	 * @param schemas schemas
+	 * @return {@code true} if contains only the schemas
+	 */
+	protected boolean containsOnly(@NonNull Flyway source, @NonNull List<String> schemas) {
+		
+		/* @formatter:off */
+		String sql = "SELECT SCHEMA_NAME, "
+			+ "(SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES T WHERE T.TABLE_SCHEMA = S.SCHEMA_NAME) "
+			+ "+ (SELECT COUNT(*) FROM INFORMATION_SCHEMA.SEQUENCES Q WHERE Q.SEQUENCE_SCHEMA = S.SCHEMA_NAME) "
+			+ "FROM INFORMATION_SCHEMA.SCHEMATA S WHERE S.SCHEMA_NAME <> 'INFORMATION_SCHEMA'";
+		/* @formatter:on */
+		
+		try (Connection connection = source.getConfiguration().getDataSource().getConnection();
+			Statement statement = connection.createStatement();
+			ResultSet resultSet = statement.executeQuery(sql)) {
+			
+			while (resultSet.next()) {
+				
+				String schema = resultSet.getString(1);
+				
+				if (!schemas.contains(schema) && !("PUBLIC".equals(schema) && resultSet.getLong(2) == 0)) {
+					
+					return false;
+				}
+			}
+			
+			return true;
+		}
+		catch (SQLException e) {
+			
+			throw new IllegalStateException("Failed to get schemas", e);
+		}
+	}
+	
+	/**
+	 * Migrate with snapshot: restore the snapshot of the same migrations if any, migrate and save it otherwise
+	 * 
+	 * <p>
+	 * Snapshots are only restored into and saved from a fresh database (cleaned or without applied migrations), so
+	 * that leftover data is never captured.
+	 * </p>
+	 * 
+	 * @param source {@link Flyway}
+	 */
+	protected void migrateWithSnapshot(@NonNull Flyway source) {
+		
+		Path snapshot = Paths.get(this.snapshotDir, this.computeSnapshotKey(source) + ".zip").toAbsolutePath();
+		boolean fresh = this.clean || source.info().applied().length == 0;
+		
+		if (Files.exists(snapshot) && fresh) {
+			
+			if (this.clean) {
+				
+				this.clean(source, source);
+			}
+			
+			this.execute(source, String.format("RUNSCRIPT FROM '%s' COMPRESSION DEFLATE", quote(snapshot)));
+			
+			return;
+		}
+		
+		this.migrateInternal(source);
+		
+		if (!fresh || Files.exists(snapshot)) {
+			
+			return;
+		}
+		
+		try {
+			
+			Files.createDirectories(snapshot.getParent());
+			
+			Path temp = Files.createTempFile(snapshot.getParent(), "snapshot-", ".tmp");
+			
+			this.execute(source, String.format("SCRIPT TO '%s' COMPRESSION DEFLATE", quote(temp)));
+			
+			Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e) {
+			
+			throw new IllegalStateException("Failed to save snapshot", e);
+		}
+	}
+	
+	/**
+	 * Compute snapshot key from the migration files in the locations and the replacer version (never from the schema
+	 * history, which keeps the checksums of applied migrations even if the files have changed)
+	 * 
+	 * @param source {@link Flyway}
+	 * @return key
+	 */
+	protected String computeSnapshotKey(@NonNull Flyway source) {
+		
+		Configuration configuration = source.getConfiguration();
+		ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(configuration.getClassLoader());
+		List<String> entries = new ArrayList<>();
+		
+		try {
+			
+			for (Location location : configuration.getLocations()) {
+				
+				String pattern = (location.isFileSystem() ? "file:" : "classpath*:") + location.getPath() + "/**/*";
+				
+				for (Resource resource : resolver.getResources(pattern)) {
+					
+					if (!resource.isReadable() || resource.getFilename() == null) {
+						
+						continue;
+					}
+					
+					try (InputStream input = resource.getInputStream()) {
+						
+						entries.add(String.format("%s:%s:%s", location.getDescriptor(), resource.getFilename(),
+							DigestUtils.md5DigestAsHex(input)));
+					}
+				}
+			}
+		}
+		catch (IOException e) {
+			
+			throw new IllegalStateException("Failed to read migrations", e);
+		}
+		
+		Collections.sort(entries);
+		
+		StringBuilder key = new StringBuilder();
+		key.append(CachingMysqlH2SqlReplacer.computeVersion()).append('\n');
+		key.append(String.join(",", configuration.getSchemas())).append('\n');
+		key.append(new TreeMap<>(configuration.getPlaceholders())).append('\n');
+		key.append(configuration.getSqlMigrationPrefix()).append(configuration.getSqlMigrationSeparator());
+		
+		for (String entry : entries) {
+			
+			key.append('\n').append(entry);
+		}
+		
+		return DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+	}
+	
+	/**
+	 * Check if the target database is H2
+	 * 
+	 * @param source {@link Flyway}
+	 * @return {@code true} if H2
+	 */
+	protected boolean isH2(@NonNull Flyway source) {
+		
+		try (Connection connection = source.getConfiguration().getDataSource().getConnection()) {
+			
+			return "H2".equals(connection.getMetaData().getDatabaseProductName());
+		}
+		catch (SQLException e) {
+			
+			throw new IllegalStateException("Failed to get database product name", e);
+		}
+	}
+	
+	/**
+	 * Execute SQL
+	 * 
+	 * @param source {@link Flyway}
+	 * @param sqls SQLs
+	 */
+	protected void execute(@NonNull Flyway source, String... sqls) {
+		
+		try (Connection connection = source.getConfiguration().getDataSource().getConnection();
+			Statement statement = connection.createStatement()) {
+			
+			for (String sql : sqls) {
+				
+				statement.execute(sql);
+			}
+		}
+		catch (SQLException e) {
+			
+			throw new IllegalStateException("Failed to execute SQL", e);
+		}
+	}
+	
+	/**
+	 * Quote path for SQL string literal
+	 * 
+	 * @param path {@link Path}
+	 * @return quoted path
+	 */
+	private static String quote(Path path) {
+		
+		return path.toString().replace("'", "''");
+	}
+	
+	/**
+	 * Migrate groups
+	 * 
+	 * <p>
+	 * The whole dependency graph and the group configurations are validated before any group is migrated, so that an
+	 * invalid graph never interrupts migrations in flight.
+	 * </p>
+	 * 
+	 * @param source {@link Flyway}
+	 */
+	protected void migrateGroups(@NonNull Flyway source) {
+		
+		Map<String, MigrationGroup> groups = new LinkedHashMap<>();
+		
+		for (MigrationGroup group : this.groups) {
+			
+			if (!StringUtils.hasText(group.getName()) || groups.put(group.getName(), group) != null) {
+				
+				throw new IllegalStateException(String.format("Invalid group name: %s", group.getName()));
+			}
+		}
+		
+		Map<String, Flyway> flyways = new LinkedHashMap<>();
+		
+		for (MigrationGroup group : sort(groups)) {
+			
+			flyways.put(group.getName(), this.configure(source, group));
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(this.parallelism > 0 ? this.parallelism : groups.size());
+		
+		try {
+			
+			Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+			
+			for (Map.Entry<String, Flyway> entry : flyways.entrySet()) {
+				
+				// Dependencies come first in the sorted order
+				/* @formatter:off */
+				CompletableFuture<?>[] dependencies = groups.get(entry.getKey()).getDependsOn().stream()
+					.map(futures::get)
+					.toArray(CompletableFuture<?>[]::new);
+				/* @formatter:on */
+				
+				futures.put(entry.getKey(), CompletableFuture.allOf(dependencies)
+					.thenRunAsync(() -> this.migrateInternal(entry.getValue()), executor));
+			}
+			
+			CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+		}
+		catch (CompletionException e) {
+			
+			if (e.getCause() instanceof RuntimeException) {
+				
+				throw (RuntimeException) e.getCause();
+			}
+			
+			throw new IllegalStateException("Failed to migrate groups", e.getCause());
+		}
+		finally {
+			
+			executor.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Sort groups topologically (dependencies first)
+	 * 
+	 * @param groups {@link MigrationGroup}s by name
+	 * @return sorted {@link MigrationGroup}s
+	 * @throws IllegalStateException if a dependency is not found or circular
+	 */
+	protected static List<MigrationGroup> sort(@NonNull Map<String, MigrationGroup> groups) {
+		
+		Set<String> sorted = new LinkedHashSet<>();
+		
+		for (MigrationGroup group : groups.values()) {
+			
+			visit(group, groups, sorted, new HashSet<>());
+		}
+		
+		return sorted.stream().map(groups::get).collect(Collectors.toList());
+	}
+	
+	/**
+	 * Visit group and its dependencies (depth first)
+	 * 
+	 * @param group {@link MigrationGroup}
+	 * @param groups {@link MigrationGroup}s by name
+	 * @param sorted sorted names
+	 * @param visiting names being visited
+	 */
+	private static void visit(
+	/* @formatter:off */
+		MigrationGroup group,
+		Map<String, MigrationGroup> groups,
+		Set<String> sorted,
+		Set<String> visiting) {
+		/* @formatter:on */
+		
+		if (sorted.contains(group.getName())) {
+			
+			return;
+		}
+		
+		if (!visiting.add(group.getName())) {
+			
+			throw new IllegalStateException(String.format("Circular group dependency: %s", group.getName()));
+		}
+		
+		for (String name : group.getDependsOn()) {
+			
+			MigrationGroup dependency = groups.get(name);
+			
+			if (dependency == null) {
+				
+				throw new IllegalStateException(String.format("Group not found: %s", name));
+			}
+			
+			visit(dependency, groups, sorted, visiting);
+		}
+		
+		visiting.remove(group.getName());
+		sorted.add(group.getName());
+	}
+	
+	/**
+	 * Configure {@link Flyway} for group
+	 * 
+	 * @param source {@link Flyway}
+	 * @param group {@link MigrationGroup}
+	 * @return {@link Flyway}
+	 */
+	protected Flyway configure(@NonNull Flyway source, @NonNull MigrationGroup group) {
+		
+		if (group.getSchemas().isEmpty()) {
+			
+			throw new IllegalStateException(String.format("Schemas not specified: %s", group.getName()));
+		}
+		
+		/* @formatter:off */
+		FluentConfiguration configuration = Flyway.configure(source.getConfiguration().getClassLoader())
+			.configuration(source.getConfiguration())
+			.schemas(StringUtils.toStringArray(group.getSchemas()));
+		/* @formatter:on */
+		
+		if (!group.getLocations().isEmpty()) {
+			
+			configuration.locations(StringUtils.toStringArray(group.getLocations()));
+		}
+		
+		return configuration.load();
+	}
+	
+	/**
+	 * Migration group
+	 */
+	@Data
+	@Accessors(chain = true)
+	public static class MigrationGroup {
+		
+		/**
+		 * Name
+		 */
+		private String name;
+		
+		/**
+		 * Schemas (the first one holds the schema history table)
+		 */
+		@NonNull
+		private List<String> schemas = new ArrayList<>();
+		
+		/**
+		 * Locations (default: locations of the source {@link Flyway})
+		 */
+		@NonNull
+		private List<String> locations = new ArrayList<>();
+		
+		/**
+		 * Names of groups which must be migrated before this group
+		 */
+		@NonNull
+		private List<String> dependsOn = new ArrayList<>();
+	}
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.flyway;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.zip.CRC32;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+
+import lombok.NonNull;
+
+/**
+ * {@link BaseJavaMigration}: streaming SQL script
+ * 
+ * <p>
+ * For large data-loading scripts. Subclasses follow the Java migration naming convention (e.g.
+ * {@code V20010101_201__INSERT}) and pass the script location to the constructor.
+ * </p>
+ * 
+ * <p>
+ * The script must not be resolved by Flyway itself: keep it outside the Flyway locations (e.g. {@code classpath:seed})
+ * or give it a suffix other than {@code .sql}. Otherwise Flyway also runs it as a SQL migration (with the empty
+ * prefix, as a duplicate version of the Java migration).
+ * </p>
+ */
+public abstract class StreamingSqlMigration extends BaseJavaMigration {
+	
+	/**
+	 * Script {@link Resource}
+	 */
+	private final Resource script;
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param location script location (e.g. {@code classpath:seed/20010101_201-INSERT.sql})
+	 */
+	protected StreamingSqlMigration(@NonNull String location) {
+		
+		this.script = new DefaultResourceLoader(this.getClass().getClassLoader()).getResource(location);
+	}
+	
+	@Override
+	public void migrate(Context context) throws Exception {
+		
+		Connection connection = context.getConnection();
+		boolean h2 = "H2".equals(connection.getMetaData().getDatabaseProductName());
+		
+		try (Reader reader = this.openScript()) {
+			
+			this.createExecutor(h2).execute(connection, reader);
+		}
+	}
+	
+	@Override
+	public Integer getChecksum() {
+		
+		CRC32 crc32 = new CRC32();
+		byte[] buffer = new byte[8192];
+		
+		try (InputStream input = this.script.getInputStream()) {
+			
+			int length;
+			
+			while ((length = input.read(buffer)) != -1) {
+				
+				crc32.update(buffer, 0, length);
+			}
+		}
+		catch (IOException e) {
+			
+			throw new IllegalStateException(String.format("Failed to read script: %s", this.script), e);
+		}
+		
+		return (int) crc32.getValue();
+	}
+	
+	/**
+	 * Create {@link StreamingSqlScriptExecutor}
+	 * 
+	 * @param h2 {@code true} if the target is H2
+	 * @return {@link StreamingSqlScriptExecutor}
+	 */
+	protected StreamingSqlScriptExecutor createExecutor(boolean h2) {
+		
+		return new StreamingSqlScriptExecutor().setMysqlToH2(h2);
+	}
+	
+	/**
+	 * Open script
+	 * 
+	 * @return {@link Reader}
+	 * @throws IOException if failed to open
+	 */
+	protected Reader openScript() throws IOException {
+		
+		return new BufferedReader(new InputStreamReader(this.script.getInputStream(), StandardCharsets.UTF_8), 65536);
+	}
+}
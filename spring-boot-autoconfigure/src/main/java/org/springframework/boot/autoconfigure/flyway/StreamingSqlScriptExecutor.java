@@ -0,0 +1,540 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.flyway;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * Streaming SQL script executor
+ * 
+ * <p>
+ * Reads a script character by character and keeps only the current statement in memory. Consecutive
+ * {@code INSERT INTO ... VALUES} statements with the same prefix are combined into one multi-row {@code INSERT},
+ * which H2 and MySQL execute as a single statement (unlike JDBC batches of separate statements).
+ * </p>
+ */
+public class StreamingSqlScriptExecutor {
+	
+	/**
+	 * {@link Pattern}: INSERT prefix
+	 */
+	private static final Pattern INSERT_PREFIX = Pattern.compile(
+		"^INSERT\\s+INTO\\s+([^\\s(]+)\\s*(\\([^)]*\\))?\\s*VALUES", Pattern.CASE_INSENSITIVE);
+	
+	/**
+	 * {@link Pattern}: SET FOREIGN_KEY_CHECKS
+	 */
+	private static final Pattern FOREIGN_KEY_CHECKS = Pattern.compile(
+		"^SET\\s+FOREIGN_KEY_CHECKS\\s*=\\s*([01])$", Pattern.CASE_INSENSITIVE);
+	
+	/**
+	 * Maximum number of statements combined into one {@code INSERT}
+	 */
+	@Setter
+	@Accessors(chain = true)
+	private int batchSize = 1000;
+	
+	/**
+	 * Translate MySQL syntax (quotes, escapes, comments and foreign key checks) to H2
+	 */
+	@Setter
+	@Accessors(chain = true)
+	private boolean mysqlToH2;
+	
+	/**
+	 * Execute
+	 * 
+	 * @param connection {@link Connection}
+	 * @param reader {@link Reader}
+	 * @return number of executed source statements
+	 * @throws IOException if failed to read
+	 * @throws SQLException if failed to execute
+	 */
+	public long execute(@NonNull Connection connection, @NonNull Reader reader) throws IOException, SQLException {
+		
+		try (Statement statement = connection.createStatement()) {
+			
+			Batch batch = new Batch(statement);
+			StringBuilder sql = new StringBuilder();
+			BufferedReader input = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+			
+			State state = State.DEFAULT;
+			int current = input.read();
+			
+			while (current != -1) {
+				
+				char c = (char) current;
+				int next = input.read();
+				
+				switch (state) {
+					
+					case DEFAULT:
+						
+						if (c == ';') {
+							
+							batch.add(this.translate(sql.toString().trim()));
+							sql.setLength(0);
+						}
+						else if ((c == '-' && next == '-') || c == '#') {
+							
+							state = State.LINE_COMMENT;
+							next = this.appendComment(sql, c, next, input);
+						}
+						else if (c == '/' && next == '*') {
+							
+							state = State.BLOCK_COMMENT;
+							next = this.appendComment(sql, c, next, input);
+						}
+						else {
+							
+							state = State.of(c);
+							sql.append(state == State.DEFAULT ? c : this.quoteOf(state));
+						}
+						
+						break;
+					
+					case LINE_COMMENT:
+					case BLOCK_COMMENT:
+						
+						if (state == State.LINE_COMMENT && c == '\n') {
+							
+							state = State.DEFAULT;
+							sql.append(c);
+						}
+						else if (state == State.BLOCK_COMMENT && c == '*' && next == '/') {
+							
+							state = State.DEFAULT;
+							next = this.appendComment(sql, c, next, input);
+							
+							if (this.mysqlToH2) {
+								
+								sql.append(' ');
+							}
+						}
+						else if (!this.mysqlToH2) {
+							
+							sql.append(c);
+						}
+						
+						break;
+					
+					default:
+						
+						if (c == '\\' && state != State.BACKTICK && next != -1) {
+							
+							this.appendEscape(sql, state, (char) next);
+							next = input.read();
+						}
+						else if (c == state.quote && next == state.quote) {
+							
+							// Doubled quote: a literal quote character
+							this.appendLiteral(sql, state, c);
+							next = input.read();
+						}
+						else if (c == state.quote) {
+							
+							sql.append(this.quoteOf(state));
+							state = State.DEFAULT;
+						}
+						else {
+							
+							this.appendLiteral(sql, state, c);
+						}
+				}
+				
+				current = next;
+			}
+			
+			batch.add(this.translate(sql.toString().trim()));
+			batch.flush();
+			
+			return batch.count;
+		}
+	}
+	
+	/**
+	 * Append two characters of comment start or end if comments are kept
+	 * 
+	 * @param sql SQL
+	 * @param c current character
+	 * @param next next character
+	 * @param input input
+	 * @return character after the comment token
+	 * @throws IOException if failed to read
+	 */
+	private int appendComment(StringBuilder sql, char c, int next, BufferedReader input) throws IOException {
+		
+		if (c == '#') {
+			
+			if (!this.mysqlToH2) {
+				
+				sql.append(c);
+			}
+			
+			return next;
+		}
+		
+		if (!this.mysqlToH2) {
+			
+			sql.append(c).append((char) next);
+		}
+		
+		return input.read();
+	}
+	
+	/**
+	 * Append escaped character
+	 * 
+	 * @param sql SQL
+	 * @param state {@link State}
+	 * @param escaped escaped character
+	 */
+	private void appendEscape(StringBuilder sql, State state, char escaped) {
+		
+		if (!this.mysqlToH2) {
+			
+			sql.append('\\').append(escaped);
+			
+			return;
+		}
+		
+		switch (escaped) {
+			
+			case 'n':
+				sql.append('\n');
+				break;
+			
+			case 'r':
+				sql.append('\r');
+				break;
+			
+			case 't':
+				sql.append('\t');
+				break;
+			
+			case '0':
+				sql.append('\0');
+				break;
+			
+			default:
+				this.appendLiteral(sql, state, escaped);
+		}
+	}
+	
+	/**
+	 * Append a literal character inside quotes
+	 * 
+	 * @param sql SQL
+	 * @param state {@link State}
+	 * @param c character
+	 */
+	private void appendLiteral(StringBuilder sql, State state, char c) {
+		
+		if (c == this.quoteOf(state)) {
+			
+			// Quotes are escaped by doubling them
+			sql.append(c);
+		}
+		
+		sql.append(c);
+	}
+	
+	/**
+	 * Get output quote
+	 * 
+	 * @param state {@link State}
+	 * @return quote
+	 */
+	private char quoteOf(State state) {
+		
+		if (!this.mysqlToH2) {
+			
+			return state.quote;
+		}
+		
+		// MySQL: 'string', "string", `identifier` -> H2: 'string', 'string', "identifier"
+		return state == State.BACKTICK ? '"' : '\'';
+	}
+	
+	/**
+	 * Translate statement
+	 * 
+	 * @param sql SQL
+	 * @return SQL
+	 */
+	protected String translate(String sql) {
+		
+		if (!this.mysqlToH2) {
+			
+			return sql;
+		}
+		
+		Matcher matcher = FOREIGN_KEY_CHECKS.matcher(sql);
+		
+		if (matcher.matches()) {
+			
+			return "SET REFERENTIAL_INTEGRITY " + ("1".equals(matcher.group(1)) ? "TRUE" : "FALSE");
+		}
+		
+		return sql;
+	}
+	
+	/**
+	 * Check if the SQL is a list of parenthesized rows only (e.g. {@code (1, 'a'), (2, 'b')}), which can be combined
+	 * 
+	 * @param values SQL after {@code VALUES}
+	 * @return {@code true} if rows only
+	 */
+	protected boolean isRows(String values) {
+		
+		int depth = 0;
+		char quote = 0;
+		boolean expectRow = true;
+		
+		for (int index = 0; index < values.length(); index++) {
+			
+			char c = values.charAt(index);
+			
+			if (quote != 0) {
+				
+				if (c == '\\' && !this.mysqlToH2) {
+					
+					index++;
+				}
+				else if (c == quote && index + 1 < values.length() && values.charAt(index + 1) == quote) {
+					
+					index++;
+				}
+				else if (c == quote) {
+					
+					quote = 0;
+				}
+			}
+			else if (depth > 0) {
+				
+				if (c == '\'' || c == '"' || c == '`') {
+					
+					quote = c;
+				}
+				else if (c == '(') {
+					
+					depth++;
+				}
+				else if (c == ')') {
+					
+					depth--;
+				}
+			}
+			else if (c == '(' && expectRow) {
+				
+				depth = 1;
+				expectRow = false;
+			}
+			else if (c == ',' && !expectRow) {
+				
+				expectRow = true;
+			}
+			else if (!Character.isWhitespace(c)) {
+				
+				// e.g. ON DUPLICATE KEY UPDATE
+				return false;
+			}
+		}
+		
+		return depth == 0 && quote == 0 && !expectRow;
+	}
+	
+	/**
+	 * State
+	 */
+	private enum State {
+		
+		/**
+		 * Default
+		 */
+		DEFAULT((char) 0),
+		
+		/**
+		 * Single quote
+		 */
+		SINGLE_QUOTE('\''),
+		
+		/**
+		 * Double quote
+		 */
+		DOUBLE_QUOTE('"'),
+		
+		/**
+		 * Backtick
+		 */
+		BACKTICK('`'),
+		
+		/**
+		 * Line comment
+		 */
+		LINE_COMMENT((char) 0),
+		
+		/**
+		 * Block comment
+		 */
+		BLOCK_COMMENT((char) 0);
+		
+		/**
+		 * Quote
+		 */
+		private final char quote;
+		
+		/**
+		 * Constructor
+		 * 
+		 * @param quote {@link #quote}
+		 */
+		State(char quote) {
+			
+			this.quote = quote;
+		}
+		
+		/**
+		 * Get state entered by character
+		 * 
+		 * @param c character
+		 * @return {@link State}
+		 */
+		private static State of(char c) {
+			
+			for (State state : values()) {
+				
+				if (state.quote != 0 && state.quote == c) {
+					
+					return state;
+				}
+			}
+			
+			return DEFAULT;
+		}
+	}
+	
+	/**
+	 * Batch: consecutive INSERTs combined into one multi-row INSERT
+	 */
+	private class Batch {
+		
+		/**
+		 * {@link Statement}
+		 */
+		private final Statement statement;
+		
+		/**
+		 * Rows
+		 */
+		private final StringBuilder rows = new StringBuilder();
+		
+		/**
+		 * Current INSERT prefix
+		 */
+		private String prefix;
+		
+		/**
+		 * Number of combined statements
+		 */
+		private int size;
+		
+		/**
+		 * Number of executed source statements
+		 */
+		private long count;
+		
+		/**
+		 * Constructor
+		 * 
+		 * @param statement {@link #statement}
+		 */
+		private Batch(Statement statement) {
+			
+			this.statement = statement;
+		}
+		
+		/**
+		 * Add
+		 * 
+		 * @param sql SQL
+		 * @throws SQLException if failed to execute
+		 */
+		private void add(String sql) throws SQLException {
+			
+			if (sql.isEmpty()) {
+				
+				return;
+			}
+			
+			Matcher matcher = INSERT_PREFIX.matcher(sql);
+			String values = matcher.find() ? sql.substring(matcher.end()).trim() : null;
+			
+			if (values == null || !StreamingSqlScriptExecutor.this.isRows(values)) {
+				
+				this.flush();
+				this.statement.execute(sql);
+				this.count++;
+				
+				return;
+			}
+			
+			if (!matcher.group(0).equals(this.prefix) || this.size >= StreamingSqlScriptExecutor.this.batchSize) {
+				
+				this.flush();
+				this.prefix = matcher.group(0);
+			}
+			
+			if (this.size > 0) {
+				
+				this.rows.append(", ");
+			}
+			
+			this.rows.append(values);
+			this.size++;
+		}
+		
+		/**
+		 * Flush
+		 * 
+		 * @throws SQLException if failed to execute
+		 */
+		private void flush() throws SQLException {
+			
+			if (this.size > 0) {
+				
+				this.statement.execute(this.prefix + " " + this.rows);
+				this.count += this.size;
+			}
+			
+			this.rows.setLength(0);
+			this.prefix = null;
+			this.size = 0;
+		}
+	}
+}
@@ -16,16 +16,21 @@
 
 package org.springframework.boot.autoconfigure.jdbc;
 
+import javax.sql.DataSource;
+
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 
 /**
  * Custom {@link DataSourceAutoConfiguration}
  */
 @Configuration
+@ConditionalOnClass({ DataSource.class, EmbeddedDatabaseType.class })
 @EnableConfigurationProperties(CustomDataSourceProperties.class)
 @AutoConfigureBefore(DataSourceAutoConfiguration.class)
 public class CustomDataSourceAutoConfiguration extends DataSourceAutoConfiguration {
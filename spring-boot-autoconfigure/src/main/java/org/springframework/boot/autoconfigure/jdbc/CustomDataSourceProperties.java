@@ -16,13 +16,10 @@
 
 package org.springframework.boot.autoconfigure.jdbc;
 
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
-import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.jdbc.DatabaseDriver;
@@ -78,11 +75,22 @@ public class CustomDataSourceProperties extends DataSourceProperties {
 				// foo-bar -> fooBar
 				String converted = super.convertKey(key);
 				
-				// fooBar -> foo_Bar
-				converted = converted.replaceAll("([a-z])([A-Z]+)", "$1_$2");
+				// fooBar -> FOO_BAR
+				StringBuilder result = new StringBuilder(converted.length() + 4);
 				
-				// foo_Bar -> FOO_BAR
-				return converted.toUpperCase();
+				for (int index = 0; index < converted.length(); index++) {
+					
+					char c = converted.charAt(index);
+					
+					if (index > 0 && isAsciiLower(converted.charAt(index - 1)) && isAsciiUpper(c)) {
+						
+						result.append('_');
+					}
+					
+					result.append(isAsciiLower(c) ? (char) (c - ('a' - 'A')) : Character.toUpperCase(c));
+				}
+				
+				return result.toString();
 			}
 			
 			@Override
@@ -111,12 +119,15 @@ public class CustomDataSourceProperties extends DataSourceProperties {
 				String converted = super.convertKey(key);
 				
 				// Rename
-				converted = converted.replaceAll("^useSsl$", "useSSL");
-				
-				return converted;
+				return "useSsl".equals(converted) ? "useSSL" : converted;
 			}
 		};
 		
+		/**
+		 * URL prefix (e.g. {@code jdbc:h2:})
+		 */
+		private final String prefix = "jdbc:" + this.name().toLowerCase(Locale.ROOT) + ":";
+		
 		/**
 		 * Starter
 		 */
@@ -150,7 +161,7 @@ public class CustomDataSourceProperties extends DataSourceProperties {
 			
 			for (JdbcUrlParams constant : values()) {
 				
-				if (url.startsWith(String.format("jdbc:%s:", constant.name().toLowerCase()))) {
+				if (url.startsWith(constant.prefix)) {
 					
 					return constant.mergeInternal(url, params);
 				}
@@ -173,32 +184,24 @@ public class CustomDataSourceProperties extends DataSourceProperties {
 				return url;
 			}
 			
-			List<String> queries = new ArrayList<>();
+			StringBuilder result = new StringBuilder(url.length() + params.size() * 32);
+			result.append(url);
+			result.append(url.contains(this.starter) ? this.joiner : this.starter);
 			
-			for (Entry<String, Object> entry : params.entrySet()) {
-				
-				StringBuilder query = new StringBuilder();
-				query.append(this.convertKey(entry.getKey()));
-				query.append("=");
-				query.append(this.convertValue(entry.getValue()));
-				
-				queries.add(query.toString());
-			}
-			
-			StringBuilder result = new StringBuilder(url);
+			boolean first = true;
 			
-			if (!queries.isEmpty()) {
+			for (Entry<String, Object> entry : params.entrySet()) {
 				
-				if (!url.contains(this.starter)) {
-					
-					result.append(this.starter);
-				}
-				else {
+				if (!first) {
 					
 					result.append(this.joiner);
 				}
 				
-				result.append(String.join(this.joiner, queries));
+				result.append(this.convertKey(entry.getKey()));
+				result.append('=');
+				result.append(this.convertValue(entry.getValue()));
+				
+				first = false;
 			}
 			
 			return result.toString();
@@ -213,21 +216,27 @@ public class CustomDataSourceProperties extends DataSourceProperties {
 		protected String convertKey(String key) {
 			
 			// foo-bar -> fooBar
-			Matcher matcher = Pattern.compile("-[a-z]").matcher(key);
+			if (key.indexOf('-') < 0) {
+				
+				return key;
+			}
 			
-			StringBuilder result = new StringBuilder();
-			int index = 0;
+			StringBuilder result = new StringBuilder(key.length());
 			
-			while (matcher.find()) {
+			for (int index = 0; index < key.length(); index++) {
 				
-				result.append(key.substring(index, matcher.start()));
-				result.append(matcher.group(0).replaceAll("-", "").toUpperCase());
+				char c = key.charAt(index);
 				
-				index = matcher.end();
+				if (c == '-' && index + 1 < key.length() && isAsciiLower(key.charAt(index + 1))) {
+					
+					result.append((char) (key.charAt(++index) - ('a' - 'A')));
+				}
+				else {
+					
+					result.append(c);
+				}
 			}
 			
-			result.append(key.substring(index));
-			
 			return result.toString();
 		}
 		
@@ -241,5 +250,27 @@ public class CustomDataSourceProperties extends DataSourceProperties {
 			
 			return String.valueOf(value);
 		}
+		
+		/**
+		 * Check if the character is an ASCII lower case letter
+		 * 
+		 * @param c character
+		 * @return {@code true} if {@code [a-z]}
+		 */
+		protected static boolean isAsciiLower(char c) {
+			
+			return c >= 'a' && c <= 'z';
+		}
+		
+		/**
+		 * Check if the character is an ASCII upper case letter
+		 * 
+		 * @param c character
+		 * @return {@code true} if {@code [A-Z]}
+		 */
+		protected static boolean isAsciiUpper(char c) {
+			
+			return c >= 'A' && c <= 'Z';
+		}
 	}
 }
@@ -16,18 +16,26 @@
 
 package org.springframework.boot.autoconfigure.orm.jpa;
 
+import javax.persistence.EntityManager;
+
+import org.hibernate.engine.spi.SessionImplementor;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 
 /**
  * Custom {@link HibernateJpaAutoConfiguration}
  */
 @Configuration
+@ConditionalOnClass({ LocalContainerEntityManagerFactoryBean.class, EntityManager.class, SessionImplementor.class })
 @EnableConfigurationProperties(CustomJpaProperties.class)
 @AutoConfigureBefore(HibernateJpaAutoConfiguration.class)
+@Import(JpaUnitRegistrar.class)
 public class CustomHibernateJpaAutoConfiguration extends HibernateJpaAutoConfiguration {
 	
 	/**
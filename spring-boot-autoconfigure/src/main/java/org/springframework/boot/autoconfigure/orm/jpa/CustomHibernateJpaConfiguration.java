@@ -19,6 +19,7 @@ package org.springframework.boot.autoconfigure.orm.jpa;
 import java.util.Collection;
 import java.util.Map;
 
+import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
 
 import org.hibernate.boot.model.naming.ImplicitNamingStrategy; // TODO @checkstyle:ignore
@@ -27,7 +28,10 @@ import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl; // TODO
 import org.hibernate.jpa.boot.spi.IntegratorProvider; // TODO @checkstyle:ignore
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.jdbc.CustomDataSourceProperties;
 import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.jdbc.DatabaseDriver;
 import org.springframework.boot.jdbc.SchemaManagementProvider;
 import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadataProvider;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
@@ -141,6 +145,38 @@ public class CustomHibernateJpaConfiguration extends HibernateJpaConfiguration {
 		return factory;
 	}
 	
+	/**
+	 * {@link Bean}: {@link StatelessSessionTemplate}
+	 * 
+	 * @param entityManagerFactory {@link EntityManagerFactory}
+	 * @param dataSourceProperties {@link CustomDataSourceProperties}
+	 * @return {@link StatelessSessionTemplate}
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public StatelessSessionTemplate statelessSessionTemplate(
+	/* @formatter:off */
+		EntityManagerFactory entityManagerFactory,
+		@NonNull ObjectProvider<CustomDataSourceProperties> dataSourceProperties) {
+		/* @formatter:on */
+		
+		CustomJpaProperties.Streaming streaming = this.properties.getStreaming();
+		int fetchSize = streaming.getFetchSize();
+		
+		if (streaming.isDriverStreaming()) {
+			
+			CustomDataSourceProperties properties = dataSourceProperties.getIfAvailable();
+			
+			// MySQL Connector/J streams rows one by one only with Integer.MIN_VALUE
+			if (properties != null && DatabaseDriver.fromJdbcUrl(properties.getUrl()) == DatabaseDriver.MYSQL) {
+				
+				fetchSize = Integer.MIN_VALUE;
+			}
+		}
+		
+		return new StatelessSessionTemplate(entityManagerFactory, fetchSize);
+	}
+	
 	@Override
 	protected void customizeVendorProperties(@NonNull Map<String, Object> vendorProperties) {
 		
@@ -16,7 +16,14 @@
 
 package org.springframework.boot.autoconfigure.orm.jpa;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.jdbc.CustomDataSourceProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -40,4 +47,59 @@ public class CustomJpaProperties extends JpaProperties {
 	 * Persistence unit name
 	 */
 	private String persistenceUnitName;
+	
+	/**
+	 * Units
+	 */
+	private Map<String, Unit> units = new LinkedHashMap<>();
+	
+	/**
+	 * {@link Streaming}
+	 */
+	private Streaming streaming = new Streaming();
+	
+	/**
+	 * Unit
+	 */
+	@Data
+	public static class Unit {
+		
+		/**
+		 * Data source bean name
+		 */
+		private String dataSourceName;
+		
+		/**
+		 * {@link CustomDataSourceProperties}
+		 */
+		@NestedConfigurationProperty
+		private CustomDataSourceProperties datasource;
+		
+		/**
+		 * Packages to scan
+		 */
+		private List<String> packages = new ArrayList<>();
+		
+		/**
+		 * Vendor properties
+		 */
+		private Map<String, String> properties = new LinkedHashMap<>();
+	}
+	
+	/**
+	 * Streaming
+	 */
+	@Data
+	public static class Streaming {
+		
+		/**
+		 * JDBC fetch size
+		 */
+		private int fetchSize = 1000;
+		
+		/**
+		 * Use driver specific streaming (e.g. MySQL row-by-row streaming) if available
+		 */
+		private boolean driverStreaming = true;
+	}
 }
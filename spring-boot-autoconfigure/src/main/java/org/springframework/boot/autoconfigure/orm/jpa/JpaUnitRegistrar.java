@@ -0,0 +1,260 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.orm.jpa;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl; // TODO @checkstyle:ignore
+import org.hibernate.jpa.boot.spi.IntegratorProvider; // TODO @checkstyle:ignore
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.autoconfigure.jdbc.CustomDataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.CustomJpaProperties.Unit;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.util.StringUtils;
+
+import lombok.NonNull;
+
+/**
+ * {@link ImportBeanDefinitionRegistrar}: {@link CustomJpaProperties#getUnits()}
+ * 
+ * <p>
+ * Registers a lazy {@link LocalContainerEntityManagerFactoryBean} ({@code <name>EntityManagerFactory}) and a lazy
+ * {@link JpaTransactionManager} ({@code <name>TransactionManager}) for each unit. The beans are not autowire candidates
+ * so that the primary persistence unit keeps being resolved by type.
+ * </p>
+ * 
+ * <p>
+ * Lazy creation only holds while nothing looks up all {@link EntityManagerFactory} beans. With
+ * Spring Data JPA repositories enabled, {@code JpaMetamodelMappingContextFactoryBean} calls
+ * {@code beansOfTypeIncludingAncestors(EntityManagerFactory.class)}, which ignores the lazy and autowire candidate
+ * flags, and reads the metamodel of each factory, so every unit is built on startup.
+ * </p>
+ */
+public class JpaUnitRegistrar implements ImportBeanDefinitionRegistrar, EnvironmentAware, BeanFactoryAware {
+	
+	/**
+	 * Entity manager factory bean name suffix
+	 */
+	public static final String ENTITY_MANAGER_FACTORY_SUFFIX = "EntityManagerFactory";
+	
+	/**
+	 * Transaction manager bean name suffix
+	 */
+	public static final String TRANSACTION_MANAGER_SUFFIX = "TransactionManager";
+	
+	/**
+	 * {@link Environment}
+	 */
+	private Environment environment;
+	
+	/**
+	 * {@link ConfigurableListableBeanFactory}
+	 */
+	private ConfigurableListableBeanFactory beanFactory;
+	
+	@Override
+	public void setEnvironment(@NonNull Environment environment) {
+		
+		this.environment = environment;
+	}
+	
+	@Override
+	public void setBeanFactory(@NonNull BeanFactory beanFactory) {
+		
+		this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+	}
+	
+	@Override
+	public void registerBeanDefinitions(AnnotationMetadata metadata, @NonNull BeanDefinitionRegistry registry) {
+		
+		/* @formatter:off */
+		Map<String, Unit> units = Binder.get(this.environment)
+			.bind(CustomJpaProperties.PREFIX + ".units", Bindable.mapOf(String.class, Unit.class))
+			.orElse(Collections.emptyMap());
+		/* @formatter:on */
+		
+		for (String name : units.keySet()) {
+			
+			RootBeanDefinition factory = new RootBeanDefinition(LocalContainerEntityManagerFactoryBean.class,
+				() -> this.createEntityManagerFactory(name));
+			factory.setLazyInit(true);
+			factory.setAutowireCandidate(false);
+			
+			registry.registerBeanDefinition(name + ENTITY_MANAGER_FACTORY_SUFFIX, factory);
+			
+			RootBeanDefinition transactionManager = new RootBeanDefinition(JpaTransactionManager.class,
+				() -> this.createTransactionManager(name));
+			transactionManager.setLazyInit(true);
+			transactionManager.setAutowireCandidate(false);
+			
+			registry.registerBeanDefinition(name + TRANSACTION_MANAGER_SUFFIX, transactionManager);
+		}
+	}
+	
+	/**
+	 * Create {@link LocalContainerEntityManagerFactoryBean}
+	 * 
+	 * @param name unit name
+	 * @return {@link LocalContainerEntityManagerFactoryBean}
+	 */
+	protected LocalContainerEntityManagerFactoryBean createEntityManagerFactory(String name) {
+		
+		Unit unit = this.beanFactory.getBean(CustomJpaProperties.class).getUnits().get(name);
+		
+		if (unit == null) {
+			
+			throw new IllegalStateException(String.format("Unit not found: %s", name));
+		}
+		
+		DataSource ownedDataSource = this.createDataSource(unit.getDatasource());
+		DataSource dataSource = ownedDataSource;
+		
+		if (dataSource == null) {
+			
+			dataSource = StringUtils.hasText(unit.getDataSourceName())
+				? this.beanFactory.getBean(unit.getDataSourceName(), DataSource.class)
+				: this.beanFactory.getBean(DataSource.class);
+		}
+		
+		/* @formatter:off */
+		HibernateSettings settings = new HibernateSettings()
+			.ddlAuto(() -> "none")
+			.hibernatePropertiesCustomizers(this.beanFactory.getBeanProvider(HibernatePropertiesCustomizer.class)
+				.orderedStream().collect(Collectors.toList()));
+		/* @formatter:on */
+		
+		Map<String, Object> vendorProperties = this.beanFactory.getBean(HibernateProperties.class)
+			.determineHibernateProperties(unit.getProperties(), settings);
+		
+		this.beanFactory.getBeanProvider(IntegratorProvider.class).ifAvailable(integratorProvider -> {
+			
+			vendorProperties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, integratorProvider);
+		});
+		
+		UnitEntityManagerFactoryBean factory = new UnitEntityManagerFactoryBean(ownedDataSource);
+		factory.setPersistenceUnitName(name);
+		factory.setDataSource(dataSource);
+		factory.setPackagesToScan(StringUtils.toStringArray(unit.getPackages()));
+		factory.setJpaVendorAdapter(this.beanFactory.getBean(JpaVendorAdapter.class));
+		factory.setJpaPropertyMap(vendorProperties);
+		
+		return factory;
+	}
+	
+	/**
+	 * Create {@link JpaTransactionManager}
+	 * 
+	 * @param name unit name
+	 * @return {@link JpaTransactionManager}
+	 */
+	protected JpaTransactionManager createTransactionManager(String name) {
+		
+		JpaTransactionManager transactionManager = new JpaTransactionManager(
+			this.beanFactory.getBean(name + ENTITY_MANAGER_FACTORY_SUFFIX, EntityManagerFactory.class));
+		
+		this.beanFactory.getBeanProvider(TransactionManagerCustomizers.class)
+			.ifAvailable(customizers -> customizers.customize(transactionManager));
+		
+		return transactionManager;
+	}
+	
+	/**
+	 * Create {@link DataSource}
+	 * 
+	 * @param properties {@link CustomDataSourceProperties}
+	 * @return {@link DataSource}
+	 */
+	protected DataSource createDataSource(CustomDataSourceProperties properties) {
+		
+		if (properties == null || !StringUtils.hasText(properties.getUrl())) {
+			
+			return null;
+		}
+		
+		properties.setBeanClassLoader(this.beanFactory.getBeanClassLoader());
+		
+		try {
+			
+			properties.afterPropertiesSet();
+		}
+		catch (Exception e) {
+			
+			throw new IllegalStateException("Failed to initialize data source properties", e);
+		}
+		
+		return properties.initializeDataSourceBuilder().build();
+	}
+	
+	/**
+	 * {@link LocalContainerEntityManagerFactoryBean}: unit
+	 */
+	protected static class UnitEntityManagerFactoryBean extends LocalContainerEntityManagerFactoryBean {
+		
+		/**
+		 * Owned {@link DataSource}
+		 */
+		private final DataSource ownedDataSource;
+		
+		/**
+		 * Constructor
+		 * 
+		 * @param ownedDataSource owned {@link DataSource}
+		 */
+		protected UnitEntityManagerFactoryBean(DataSource ownedDataSource) {
+			
+			this.ownedDataSource = ownedDataSource;
+		}
+		
+		@Override
+		public void destroy() {
+			
+			super.destroy();
+			
+			if (this.ownedDataSource instanceof Closeable) {
+				
+				try {
+					
+					((Closeable) this.ownedDataSource).close();
+				}
+				catch (IOException e) {
+					
+					throw new IllegalStateException("Failed to close data source", e);
+				}
+			}
+		}
+	}
+}
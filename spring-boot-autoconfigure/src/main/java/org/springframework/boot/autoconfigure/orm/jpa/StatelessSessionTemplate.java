@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.orm.jpa;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.Query;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link StatelessSession} template for streaming large result sets
+ */
+@RequiredArgsConstructor
+public class StatelessSessionTemplate {
+	
+	/**
+	 * {@link EntityManagerFactory}
+	 */
+	@NonNull
+	private final EntityManagerFactory entityManagerFactory;
+	
+	/**
+	 * JDBC fetch size
+	 */
+	@Getter
+	private final int fetchSize;
+	
+	/**
+	 * Execute
+	 * 
+	 * @param callback callback
+	 * @param <T> result type
+	 * @return result
+	 */
+	public <T> T execute(@NonNull Function<StatelessSession, T> callback) {
+		
+		StatelessSession session = this.entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession();
+		
+		try {
+			
+			return callback.apply(session);
+		}
+		finally {
+			
+			session.close();
+		}
+	}
+	
+	/**
+	 * Stream
+	 * 
+	 * @param queryString query string
+	 * @param resultClass result class
+	 * @param consumer consumer
+	 * @param <T> result type
+	 * @return row count
+	 */
+	public <T> long stream(String queryString, Class<T> resultClass, Consumer<? super T> consumer) {
+		
+		return this.stream(queryString, resultClass, Collections.emptyMap(), consumer);
+	}
+	
+	/**
+	 * Stream
+	 * 
+	 * @param queryString query string
+	 * @param resultClass result class
+	 * @param parameters parameters
+	 * @param consumer consumer
+	 * @param <T> result type
+	 * @return row count
+	 */
+	public <T> long stream(
+	/* @formatter:off */
+		@NonNull String queryString,
+		@NonNull Class<T> resultClass,
+		@NonNull Map<String, ?> parameters,
+		@NonNull Consumer<? super T> consumer) {
+		/* @formatter:on */
+		
+		return this.execute(session -> {
+			
+			Query<T> query = session.createQuery(queryString, resultClass);
+			query.setFetchSize(this.fetchSize);
+			
+			for (Entry<String, ?> entry : parameters.entrySet()) {
+				
+				query.setParameter(entry.getKey(), entry.getValue());
+			}
+			
+			long count = 0;
+			
+			try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+				
+				while (results.next()) {
+					
+					consumer.accept(resultClass.cast(results.get(0)));
+					count++;
+				}
+			}
+			
+			return count;
+		});
+	}
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.startup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.util.PatternMatchUtils;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link InstantiationAwareBeanPostProcessor}: startup timeline
+ * 
+ * <p>
+ * Records the time from instantiation to the end of initialization (e.g. {@code initMethod = "start"} and
+ * {@code afterPropertiesSet}) for each matching bean. Dependencies created on the way are tracked per thread, so
+ * each entry also carries its own time without them. The timeline is logged when the application is ready.
+ * </p>
+ */
+@Slf4j
+public class StartupTimeline
+	implements InstantiationAwareBeanPostProcessor, ApplicationListener<ApplicationReadyEvent> {
+	
+	/**
+	 * {@link StartupTimelineProperties}
+	 */
+	private final StartupTimelineProperties properties;
+	
+	/**
+	 * Bean name patterns
+	 */
+	private final String[] patterns;
+	
+	/**
+	 * {@link Frame}s of the beans being created on the current thread
+	 */
+	private final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+	
+	/**
+	 * {@link Entry}s
+	 */
+	private final List<Entry> entries = new ArrayList<>();
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param properties {@link StartupTimelineProperties}
+	 */
+	public StartupTimeline(@NonNull StartupTimelineProperties properties) {
+		
+		this.properties = properties;
+		this.patterns = properties.getBeans().toArray(new String[0]);
+	}
+	
+	@Override
+	public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) {
+		
+		this.frames.get().push(new Frame(beanName, System.nanoTime()));
+		
+		return null;
+	}
+	
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		
+		Deque<Frame> frames = this.frames.get();
+		
+		if (frames.stream().noneMatch(frame -> frame.getBeanName().equals(beanName))) {
+			
+			// FactoryBean products and beans created before registration
+			return bean;
+		}
+		
+		// Discard beans which failed to be created
+		Frame frame = frames.pop();
+		
+		while (!frame.getBeanName().equals(beanName)) {
+			
+			frame = frames.pop();
+		}
+		
+		long nanos = System.nanoTime() - frame.getStart();
+		
+		if (!frames.isEmpty()) {
+			
+			frames.peek().addChildNanos(nanos);
+		}
+		
+		if (PatternMatchUtils.simpleMatch(this.patterns, beanName)) {
+			
+			synchronized (this.entries) {
+				
+				this.entries.add(new Entry(beanName, nanos, nanos - frame.getChildNanos()));
+			}
+		}
+		
+		return bean;
+	}
+	
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		
+		this.frames.remove();
+		
+		List<Entry> entries = this.getEntries();
+		entries.sort(Comparator.comparingLong(Entry::getNanos).reversed());
+		
+		for (Entry entry : entries) {
+			
+			long millis = TimeUnit.NANOSECONDS.toMillis(entry.getNanos());
+			long selfMillis = TimeUnit.NANOSECONDS.toMillis(entry.getSelfNanos());
+			
+			if (entry.getNanos() >= this.properties.getSlowThreshold().toNanos()) {
+				
+				log.warn("Slow startup: {} ms ({} ms self) {}", millis, selfMillis, entry.getBeanName());
+			}
+			else {
+				
+				log.info("Startup: {} ms ({} ms self) {}", millis, selfMillis, entry.getBeanName());
+			}
+		}
+	}
+	
+	/**
+	 * Get {@link Entry}s in the order of completion
+	 * 
+	 * @return {@link Entry}s
+	 */
+	public List<Entry> getEntries() {
+		
+		synchronized (this.entries) {
+			
+			return new ArrayList<>(this.entries);
+		}
+	}
+	
+	/**
+	 * Entry
+	 */
+	@RequiredArgsConstructor
+	@Getter
+	public static class Entry {
+		
+		/**
+		 * Bean name
+		 */
+		private final String beanName;
+		
+		/**
+		 * Time in nanoseconds
+		 */
+		private final long nanos;
+		
+		/**
+		 * Time in nanoseconds without dependencies created on the way
+		 */
+		private final long selfNanos;
+	}
+	
+	/**
+	 * Frame
+	 */
+	@RequiredArgsConstructor
+	@Getter
+	protected static class Frame {
+		
+		/**
+		 * Bean name
+		 */
+		private final String beanName;
+		
+		/**
+		 * Start time
+		 */
+		private final long start;
+		
+		/**
+		 * Time of dependencies in nanoseconds
+		 */
+		private long childNanos;
+		
+		/**
+		 * Add time of a dependency
+		 * 
+		 * @param nanos time in nanoseconds
+		 */
+		protected void addChildNanos(long nanos) {
+			
+			this.childNanos += nanos;
+		}
+	}
+}
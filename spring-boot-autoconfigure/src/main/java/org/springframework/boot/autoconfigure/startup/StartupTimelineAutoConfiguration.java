@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.startup;
+
+import org.springframework.boot.autoconfigure.AutoConfigureOrder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Startup timeline auto configuration
+ */
+@Configuration
+@ConditionalOnProperty(prefix = StartupTimelineProperties.PREFIX, name = "enabled", havingValue = "true")
+@AutoConfigureOrder(Ordered.HIGHEST_PRECEDENCE)
+public class StartupTimelineAutoConfiguration {
+	
+	/**
+	 * {@link Bean}: {@link StartupTimeline}
+	 * 
+	 * <p>
+	 * Static and bound directly from the {@link Environment}, so the post-processor is registered without creating
+	 * other beans.
+	 * </p>
+	 * 
+	 * @param environment {@link Environment}
+	 * @return {@link StartupTimeline}
+	 */
+	@Bean
+	public static StartupTimeline startupTimeline(Environment environment) {
+		
+		StartupTimelineProperties properties = Binder.get(environment)
+			.bind(StartupTimelineProperties.PREFIX, StartupTimelineProperties.class)
+			.orElseGet(StartupTimelineProperties::new);
+		
+		return new StartupTimeline(properties);
+	}
+	
+	/**
+	 * {@link Configuration}: {@link StartupTimelineMeterBinder}
+	 */
+	@Configuration
+	@ConditionalOnClass(MeterBinder.class)
+	protected static class StartupTimelineMeterBinderConfiguration {
+		
+		/**
+		 * {@link Bean}: {@link StartupTimelineMeterBinder}
+		 * 
+		 * @param startupTimeline {@link StartupTimeline}
+		 * @return {@link StartupTimelineMeterBinder}
+		 */
+		@Bean
+		public StartupTimelineMeterBinder startupTimelineMeterBinder(StartupTimeline startupTimeline) {
+			
+			return new StartupTimelineMeterBinder(startupTimeline);
+		}
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.startup;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link MeterBinder}: {@link StartupTimeline}
+ * 
+ * <p>
+ * Registries are bound before most beans are created, so the timeline is published when the application is ready.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class StartupTimelineMeterBinder implements MeterBinder, ApplicationListener<ApplicationReadyEvent> {
+	
+	/**
+	 * Meter name
+	 */
+	public static final String METER_NAME = "spring.startup.bean";
+	
+	/**
+	 * {@link StartupTimeline}
+	 */
+	@NonNull
+	private final StartupTimeline startupTimeline;
+	
+	/**
+	 * {@link MeterRegistry}
+	 */
+	private volatile MeterRegistry meterRegistry;
+	
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		
+		this.meterRegistry = registry;
+	}
+	
+	@Override
+	public void onApplicationEvent(ApplicationReadyEvent event) {
+		
+		MeterRegistry registry = this.meterRegistry;
+		
+		if (registry == null) {
+			
+			return;
+		}
+		
+		for (StartupTimeline.Entry entry : this.startupTimeline.getEntries()) {
+			
+			/* @formatter:off */
+			Timer.builder(METER_NAME)
+				.tag("bean", entry.getBeanName())
+				.register(registry)
+				.record(entry.getNanos(), TimeUnit.NANOSECONDS);
+			/* @formatter:on */
+		}
+	}
+}
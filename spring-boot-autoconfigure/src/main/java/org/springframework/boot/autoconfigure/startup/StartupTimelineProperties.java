@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.startup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+import lombok.NonNull;
+
+/**
+ * Startup timeline properties
+ */
+@ConfigurationProperties(StartupTimelineProperties.PREFIX)
+@Data
+public class StartupTimelineProperties {
+	
+	/**
+	 * Prefix
+	 */
+	public static final String PREFIX = "spring.startup-timeline";
+	
+	/**
+	 * Recorded bean name patterns (simple match)
+	 */
+	@NonNull
+	private List<String> beans = new ArrayList<>(Arrays.asList("h2Server", "respServer", "dataSource",
+		"entityManagerFactory", "*EntityManagerFactory", "flyway", "flywayInitializer", "templateEngine",
+		"defaultTemplateResolver", "thymeleafViewResolver"));
+	
+	/**
+	 * Slow threshold
+	 */
+	@NonNull
+	private Duration slowThreshold = Duration.ofMillis(100);
+}
@@ -16,20 +16,35 @@
 
 package org.springframework.boot.autoconfigure.thymeleaf;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thymeleaf.CustomThymeleafProperties.Minify;
 import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
 import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.thymeleaf.ITemplateEngine;
 import org.thymeleaf.extras.minify.dialect.MinifierDialect;
+import org.thymeleaf.extras.minify.engine.AbstractMinifierTemplateHandler;
+import org.thymeleaf.extras.minify.engine.SimpleMinifierTemplateHandler;
+import org.thymeleaf.spring5.templateresolver.SpringResourceTemplateResolver;
 import org.thymeleaf.templatemode.TemplateMode;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
@@ -55,6 +70,22 @@ public class CustomThymeleafAutoConfiguration extends ThymeleafAutoConfiguration
 		return new CustomThymeleafProperties();
 	}
 	
+	/**
+	 * Check that the handler class is not customized for a minify mode which does not use it
+	 * 
+	 * @param properties {@link CustomThymeleafProperties}
+	 */
+	protected static void checkHandlerClass(CustomThymeleafProperties properties) {
+		
+		Minify minify = properties.getMinify();
+		
+		if (minify.getHandlerClass() != null) {
+			
+			throw new IllegalStateException(String.format("%s.minify.handler-class is not supported with mode %s: %s",
+				CustomThymeleafProperties.PREFIX, minify.getMode(), minify.getHandlerClass().getName()));
+		}
+	}
+	
 	/**
 	 * {@link Configuration}: {@link MinifierDialect}
 	 */
@@ -77,9 +108,326 @@ public class CustomThymeleafAutoConfiguration extends ThymeleafAutoConfiguration
 		 */
 		@Bean
 		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = CustomThymeleafProperties.PREFIX, name = "minify.mode", havingValue = "handler",
+			matchIfMissing = true)
 		public MinifierDialect minifierDialect() {
 			
-			return new MinifierDialect(this.properties.getMinify().getHandlerClass());
+			Class<?> handlerClass = this.properties.getMinify().getHandlerClass();
+			
+			if (handlerClass == null) {
+				
+				return new MinifierDialect(SimpleMinifierTemplateHandler.class);
+			}
+			
+			if (!AbstractMinifierTemplateHandler.class.isAssignableFrom(handlerClass)) {
+				
+				throw new IllegalStateException(String.format("%s.minify.handler-class must extend %s: %s",
+					CustomThymeleafProperties.PREFIX, AbstractMinifierTemplateHandler.class.getName(),
+					handlerClass.getName()));
+			}
+			
+			return new MinifierDialect(handlerClass.asSubclass(AbstractMinifierTemplateHandler.class));
+		}
+	}
+	
+	/**
+	 * {@link Configuration}: {@link StreamingMinifierDialect}
+	 */
+	@Configuration
+	@ConditionalOnProperty(prefix = CustomThymeleafProperties.PREFIX, name = "minify.enabled", havingValue = "true")
+	protected static class ThymeleafStreamingMinifierDialectConfiguration {
+		
+		/**
+		 * {@link Bean}: {@link StreamingMinifierDialect}
+		 * 
+		 * @param properties {@link CustomThymeleafProperties}
+		 * @return {@link StreamingMinifierDialect}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = CustomThymeleafProperties.PREFIX, name = "minify.mode", havingValue = "streaming")
+		public StreamingMinifierDialect streamingMinifierDialect(CustomThymeleafProperties properties) {
+			
+			checkHandlerClass(properties);
+			
+			return new StreamingMinifierDialect();
+		}
+	}
+	
+	/**
+	 * {@link Configuration}: {@link FragmentCacheDialect}
+	 */
+	@Configuration
+	@ConditionalOnProperty(prefix = CustomThymeleafProperties.PREFIX, name = "fragment-cache.enabled",
+		havingValue = "true")
+	@RequiredArgsConstructor
+	protected static class ThymeleafFragmentCacheConfiguration {
+		
+		/**
+		 * Remote {@link FragmentCacheStore} bean name
+		 */
+		public static final String REMOTE_STORE_BEAN_NAME = "remoteFragmentCacheStore";
+		
+		/**
+		 * {@link CustomThymeleafProperties}
+		 */
+		@NonNull
+		private final CustomThymeleafProperties properties;
+		
+		/**
+		 * {@link Bean}: {@link FragmentCache}
+		 * 
+		 * @param remoteStore remote {@link FragmentCacheStore}
+		 * @return {@link FragmentCache}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		public FragmentCache fragmentCache(
+			@Qualifier(REMOTE_STORE_BEAN_NAME) ObjectProvider<FragmentCacheStore> remoteStore) {
+			
+			LocalFragmentCacheStore localStore = new LocalFragmentCacheStore(
+				this.properties.getFragmentCache().getMaxEntries());
+			
+			return new FragmentCache(localStore, remoteStore.getIfAvailable());
+		}
+		
+		/**
+		 * {@link Bean}: {@link FragmentCacheDialect}
+		 * 
+		 * @param fragmentCache {@link FragmentCache}
+		 * @return {@link FragmentCacheDialect}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		public FragmentCacheDialect fragmentCacheDialect(FragmentCache fragmentCache) {
+			
+			return new FragmentCacheDialect(fragmentCache, this.properties.getFragmentCache().getTtl());
+		}
+		
+		/**
+		 * {@link Configuration}: {@link RedisFragmentCacheStore}
+		 */
+		@Configuration
+		@ConditionalOnClass(RedisConnectionFactory.class)
+		@ConditionalOnProperty(prefix = CustomThymeleafProperties.PREFIX, name = "fragment-cache.redis",
+			havingValue = "true")
+		protected static class RedisFragmentCacheStoreConfiguration {
+			
+			/**
+			 * {@link Bean}: {@link RedisFragmentCacheStore}
+			 * 
+			 * @param connectionFactory {@link RedisConnectionFactory}
+			 * @return {@link RedisFragmentCacheStore}
+			 */
+			@Bean(REMOTE_STORE_BEAN_NAME)
+			public FragmentCacheStore remoteFragmentCacheStore(RedisConnectionFactory connectionFactory) {
+				
+				return new RedisFragmentCacheStore(connectionFactory);
+			}
+		}
+		
+		/**
+		 * {@link Configuration}: {@link MeterBinder}
+		 */
+		@Configuration
+		@ConditionalOnClass(MeterBinder.class)
+		protected static class FragmentCacheMeterBinderConfiguration {
+			
+			/**
+			 * {@link Bean}: {@link MeterBinder}
+			 * 
+			 * @param fragmentCache {@link FragmentCache}
+			 * @return {@link MeterBinder}
+			 */
+			@Bean
+			public MeterBinder fragmentCacheMeterBinder(FragmentCache fragmentCache) {
+				
+				return registry -> {
+					
+					FunctionCounter.builder("thymeleaf.fragment.cache.hits", fragmentCache, FragmentCache::getHits)
+						.register(registry);
+					FunctionCounter.builder("thymeleaf.fragment.cache.misses", fragmentCache, FragmentCache::getMisses)
+						.register(registry);
+					Gauge.builder("thymeleaf.fragment.cache.hit.ratio", fragmentCache, FragmentCache::getHitRatio)
+						.register(registry);
+				};
+			}
+		}
+	}
+	
+	/**
+	 * {@link Configuration}: {@link TemplateMetrics}
+	 */
+	@Configuration
+	@ConditionalOnProperty(prefix = CustomThymeleafProperties.PREFIX, name = "metrics.enabled", havingValue = "true")
+	@ConditionalOnClass(MeterBinder.class)
+	@RequiredArgsConstructor
+	protected static class ThymeleafTemplateMetricsConfiguration {
+		
+		/**
+		 * {@link CustomThymeleafProperties}
+		 */
+		@NonNull
+		private final CustomThymeleafProperties properties;
+		
+		/**
+		 * {@link Environment}
+		 */
+		@NonNull
+		private final Environment environment;
+		
+		/**
+		 * {@link Bean}: {@link TemplateMetrics}
+		 * 
+		 * @return {@link TemplateMetrics}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		public TemplateMetrics templateMetrics() {
+			
+			return new TemplateMetrics(this.getHandlerName());
+		}
+		
+		/**
+		 * {@link Bean}: {@link TemplateMetricsDialect} before the minifier
+		 * 
+		 * @param templateMetrics {@link TemplateMetrics}
+		 * @return {@link TemplateMetricsDialect}
+		 */
+		@Bean
+		public TemplateMetricsDialect templateMetricsBeforeDialect(TemplateMetrics templateMetrics) {
+			
+			return new TemplateMetricsDialect(TemplateMetrics.Stage.BEFORE, templateMetrics);
+		}
+		
+		/**
+		 * {@link Bean}: {@link TemplateMetricsDialect} after the minifier
+		 * 
+		 * @param templateMetrics {@link TemplateMetrics}
+		 * @return {@link TemplateMetricsDialect}
+		 */
+		@Bean
+		public TemplateMetricsDialect templateMetricsAfterDialect(TemplateMetrics templateMetrics) {
+			
+			return new TemplateMetricsDialect(TemplateMetrics.Stage.AFTER, templateMetrics);
+		}
+		
+		/**
+		 * Get the name of the minifier applied on render
+		 * 
+		 * @return handler name
+		 */
+		protected String getHandlerName() {
+			
+			String enabled = this.environment.getProperty(CustomThymeleafProperties.PREFIX + ".minify.enabled");
+			
+			if (!Boolean.parseBoolean(enabled)) {
+				
+				return "none";
+			}
+			
+			switch (this.properties.getMinify().getMode()) {
+				
+				case SOURCE:
+					return MinifyingTemplateResolver.class.getSimpleName();
+				
+				case STREAMING:
+					return StreamingMinifierTemplateHandler.class.getSimpleName();
+				
+				default:
+					Class<?> handlerClass = this.properties.getMinify().getHandlerClass();
+					return handlerClass != null ? handlerClass.getSimpleName() : "SimpleMinifierTemplateHandler";
+			}
+		}
+	}
+	
+	/**
+	 * {@link Configuration}: {@link TemplateWarmUp}
+	 */
+	@Configuration
+	@ConditionalOnProperty(prefix = CustomThymeleafProperties.PREFIX, name = "warm-up.enabled", havingValue = "true")
+	@RequiredArgsConstructor
+	protected static class ThymeleafTemplateWarmUpConfiguration {
+		
+		/**
+		 * {@link CustomThymeleafProperties}
+		 */
+		@NonNull
+		private final CustomThymeleafProperties properties;
+		
+		/**
+		 * {@link Bean}: {@link TemplateWarmUp}
+		 * 
+		 * @param resourcePatternResolver {@link ResourcePatternResolver}
+		 * @param templateEngines {@link ITemplateEngine}s
+		 * @return {@link TemplateWarmUp}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		public TemplateWarmUp templateWarmUp(
+		/* @formatter:off */
+			ResourcePatternResolver resourcePatternResolver,
+			ObjectProvider<ITemplateEngine> templateEngines) {
+			/* @formatter:on */
+			
+			return new TemplateWarmUp(this.properties, resourcePatternResolver, templateEngines);
+		}
+	}
+	
+	/**
+	 * {@link Configuration}: {@link MinifyingTemplateResolver}
+	 */
+	@Configuration
+	@ConditionalOnProperty(prefix = CustomThymeleafProperties.PREFIX, name = "minify.enabled", havingValue = "true")
+	@ConditionalOnClass(SpringResourceTemplateResolver.class)
+	@RequiredArgsConstructor
+	protected static class ThymeleafMinifyingTemplateResolverConfiguration {
+		
+		/**
+		 * {@link ApplicationContext}
+		 */
+		@NonNull
+		private final ApplicationContext applicationContext;
+		
+		/**
+		 * {@link CustomThymeleafProperties}
+		 */
+		@NonNull
+		private final CustomThymeleafProperties properties;
+		
+		/**
+		 * {@link Bean}: {@link MinifyingTemplateResolver}
+		 * 
+		 * @return {@link MinifyingTemplateResolver}
+		 */
+		@Bean
+		@ConditionalOnMissingBean(name = "defaultTemplateResolver")
+		@ConditionalOnProperty(prefix = CustomThymeleafProperties.PREFIX, name = "minify.mode", havingValue = "source")
+		public SpringResourceTemplateResolver defaultTemplateResolver() {
+			
+			checkHandlerClass(this.properties);
+			
+			MinifyingTemplateResolver resolver = new MinifyingTemplateResolver();
+			resolver.setApplicationContext(this.applicationContext);
+			resolver.setPrefix(this.properties.getPrefix());
+			resolver.setSuffix(this.properties.getSuffix());
+			resolver.setTemplateMode(this.properties.getMode());
+			
+			if (this.properties.getEncoding() != null) {
+				
+				resolver.setCharacterEncoding(this.properties.getEncoding().name());
+			}
+			
+			resolver.setCacheable(this.properties.isCache());
+			
+			if (this.properties.getTemplateResolverOrder() != null) {
+				
+				resolver.setOrder(this.properties.getTemplateResolverOrder());
+			}
+			
+			resolver.setCheckExistence(this.properties.isCheckTemplate());
+			
+			return resolver;
 		}
 	}
 }
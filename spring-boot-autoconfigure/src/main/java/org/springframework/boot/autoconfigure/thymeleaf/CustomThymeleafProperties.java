@@ -16,9 +16,9 @@
 
 package org.springframework.boot.autoconfigure.thymeleaf;
 
+import java.time.Duration;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
-import org.thymeleaf.extras.minify.engine.AbstractMinifierTemplateHandler;
-import org.thymeleaf.extras.minify.engine.SimpleMinifierTemplateHandler;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -43,6 +43,16 @@ public class CustomThymeleafProperties extends ThymeleafProperties {
 	 */
 	private Minify minify = new Minify();
 	
+	/**
+	 * {@link WarmUp}
+	 */
+	private WarmUp warmUp = new WarmUp();
+	
+	/**
+	 * {@link FragmentCacheSettings}
+	 */
+	private FragmentCacheSettings fragmentCache = new FragmentCacheSettings();
+	
 	/**
 	 * Minify
 	 */
@@ -51,9 +61,82 @@ public class CustomThymeleafProperties extends ThymeleafProperties {
 	public static class Minify {
 		
 		/**
-		 * Handler class
+		 * Handler class extending {@code AbstractMinifierTemplateHandler} (only used with {@link Mode#HANDLER},
+		 * default: {@code SimpleMinifierTemplateHandler})
+		 * 
+		 * <p>
+		 * Not typed with thymeleaf-extras-minify, so that the other modes do not need it on the classpath.
+		 * </p>
+		 */
+		private Class<?> handlerClass;
+		
+		/**
+		 * {@link Mode}
 		 */
 		@NonNull
-		private Class<? extends AbstractMinifierTemplateHandler> handlerClass = SimpleMinifierTemplateHandler.class;
+		private Mode mode = Mode.HANDLER;
+		
+		/**
+		 * Mode
+		 */
+		public enum Mode {
+			
+			/**
+			 * Apply {@link #handlerClass} on every render
+			 */
+			HANDLER,
+			
+			/**
+			 * Minify template sources once when they are read (cached with the parsed template)
+			 */
+			SOURCE,
+			
+			/**
+			 * Minify output events one by one without buffering (suitable for chunked and reactive rendering)
+			 */
+			STREAMING
+		}
+	}
+	
+	/**
+	 * Warm-up
+	 */
+	@Data
+	@Accessors(chain = true)
+	public static class WarmUp {
+		
+		/**
+		 * Number of templates parsed at once (0: number of processors)
+		 */
+		private int parallelism;
+		
+		/**
+		 * Fail on startup if any template fails to be parsed
+		 */
+		private boolean failOnError;
+	}
+	
+	/**
+	 * Fragment cache settings
+	 */
+	@Data
+	@Accessors(chain = true)
+	public static class FragmentCacheSettings {
+		
+		/**
+		 * Maximum number of entries in the local store
+		 */
+		private int maxEntries = 1000;
+		
+		/**
+		 * Default TTL
+		 */
+		@NonNull
+		private Duration ttl = Duration.ofMinutes(5);
+		
+		/**
+		 * Use Redis as the remote store
+		 */
+		private boolean redis;
 	}
 }
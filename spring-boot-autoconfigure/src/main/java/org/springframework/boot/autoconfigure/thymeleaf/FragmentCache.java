@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fragment cache: local store first, then an optional remote store
+ * 
+ * <p>
+ * Failures of the remote store are logged and do not break rendering: the fragment is rendered again instead. Values
+ * from the remote store are kept in the local store for their remaining TTL only.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FragmentCache {
+	
+	/**
+	 * Local {@link FragmentCacheStore}
+	 */
+	@NonNull
+	private final FragmentCacheStore localStore;
+	
+	/**
+	 * Remote {@link FragmentCacheStore}
+	 */
+	private final FragmentCacheStore remoteStore;
+	
+	/**
+	 * Hits
+	 */
+	private final AtomicLong hits = new AtomicLong();
+	
+	/**
+	 * Misses
+	 */
+	private final AtomicLong misses = new AtomicLong();
+	
+	/**
+	 * Get or render
+	 * 
+	 * @param key key
+	 * @param ttl TTL
+	 * @param renderer renderer
+	 * @return rendered fragment
+	 */
+	public String get(@NonNull String key, @NonNull Duration ttl, @NonNull Supplier<String> renderer) {
+		
+		String value = this.localStore.get(key);
+		
+		if (value == null && this.remoteStore != null) {
+			
+			value = this.getRemote(key);
+		}
+		
+		if (value != null) {
+			
+			this.hits.incrementAndGet();
+			
+			return value;
+		}
+		
+		this.misses.incrementAndGet();
+		
+		value = renderer.get();
+		
+		this.localStore.put(key, value, ttl);
+		
+		if (this.remoteStore != null) {
+			
+			try {
+				
+				this.remoteStore.put(key, value, ttl);
+			}
+			catch (RuntimeException e) {
+				
+				log.warn("Failed to put fragment to remote store: {}", key, e);
+			}
+		}
+		
+		return value;
+	}
+	
+	/**
+	 * Get from the remote store and keep the value in the local store for its remaining TTL
+	 * 
+	 * @param key key
+	 * @return rendered fragment or {@code null} if not found or failed
+	 */
+	protected String getRemote(String key) {
+		
+		try {
+			
+			String value = this.remoteStore.get(key);
+			Duration remaining = value != null ? this.remoteStore.getTtl(key) : null;
+			
+			if (remaining != null) {
+				
+				this.localStore.put(key, value, remaining);
+			}
+			
+			return value;
+		}
+		catch (RuntimeException e) {
+			
+			// e.g. DataAccessException: render instead
+			log.warn("Failed to get fragment from remote store: {}", key, e);
+			
+			return null;
+		}
+	}
+	
+	/**
+	 * Get hits
+	 * 
+	 * @return hits
+	 */
+	public long getHits() {
+		
+		return this.hits.get();
+	}
+	
+	/**
+	 * Get misses
+	 * 
+	 * @return misses
+	 */
+	public long getMisses() {
+		
+		return this.misses.get();
+	}
+	
+	/**
+	 * Get hit ratio
+	 * 
+	 * @return hit ratio ({@code 0} if no request)
+	 */
+	public double getHitRatio() {
+		
+		long hits = this.hits.get();
+		long total = hits + this.misses.get();
+		
+		return total == 0 ? 0 : (double) hits / total;
+	}
+}
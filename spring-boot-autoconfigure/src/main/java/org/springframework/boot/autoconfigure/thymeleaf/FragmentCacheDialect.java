@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+
+import org.thymeleaf.dialect.AbstractProcessorDialect;
+import org.thymeleaf.processor.IProcessor;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * {@link AbstractProcessorDialect}: fragment cache
+ * 
+ * <p>
+ * {@code <div cache:fragment="fragments/nav :: menu" cache:key="${#locale}" cache:ttl="300"></div>} is replaced
+ * with the rendered fragment, cached by the fragment, the evaluated key and the TTL in seconds.
+ * </p>
+ */
+public class FragmentCacheDialect extends AbstractProcessorDialect {
+	
+	/**
+	 * Name
+	 */
+	public static final String NAME = "FragmentCache";
+	
+	/**
+	 * Prefix
+	 */
+	public static final String PREFIX = "cache";
+	
+	/**
+	 * Precedence
+	 */
+	public static final int PRECEDENCE = 1000;
+	
+	/**
+	 * {@link FragmentCache}
+	 */
+	@Getter
+	private final FragmentCache fragmentCache;
+	
+	/**
+	 * Default TTL
+	 */
+	private final Duration defaultTtl;
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param fragmentCache {@link #fragmentCache}
+	 * @param defaultTtl {@link #defaultTtl}
+	 */
+	public FragmentCacheDialect(@NonNull FragmentCache fragmentCache, @NonNull Duration defaultTtl) {
+		
+		super(NAME, PREFIX, PRECEDENCE);
+		
+		this.fragmentCache = fragmentCache;
+		this.defaultTtl = defaultTtl;
+	}
+	
+	@Override
+	public Set<IProcessor> getProcessors(String dialectPrefix) {
+		
+		return Collections.singleton(new FragmentCacheProcessor(dialectPrefix, this.fragmentCache, this.defaultTtl));
+	}
+}
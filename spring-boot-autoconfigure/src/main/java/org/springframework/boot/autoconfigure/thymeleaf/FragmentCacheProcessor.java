@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.Collections;
+
+import org.springframework.util.StringUtils;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.engine.AttributeName;
+import org.thymeleaf.engine.TemplateManager;
+import org.thymeleaf.engine.TemplateModel;
+import org.thymeleaf.exceptions.TemplateProcessingException;
+import org.thymeleaf.model.IProcessableElementTag;
+import org.thymeleaf.processor.element.AbstractAttributeTagProcessor;
+import org.thymeleaf.processor.element.IElementTagStructureHandler;
+import org.thymeleaf.standard.expression.StandardExpressions;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import lombok.NonNull;
+
+/**
+ * {@link AbstractAttributeTagProcessor}: {@code cache:fragment}
+ */
+public class FragmentCacheProcessor extends AbstractAttributeTagProcessor {
+	
+	/**
+	 * Attribute name
+	 */
+	public static final String ATTRIBUTE_NAME = "fragment";
+	
+	/**
+	 * Precedence
+	 */
+	public static final int PRECEDENCE = 100;
+	
+	/**
+	 * {@link FragmentCache}
+	 */
+	private final FragmentCache fragmentCache;
+	
+	/**
+	 * Default TTL
+	 */
+	private final Duration defaultTtl;
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param dialectPrefix dialect prefix
+	 * @param fragmentCache {@link FragmentCache}
+	 * @param defaultTtl default TTL
+	 */
+	public FragmentCacheProcessor(
+	/* @formatter:off */
+		String dialectPrefix,
+		@NonNull FragmentCache fragmentCache,
+		@NonNull Duration defaultTtl) {
+		/* @formatter:on */
+		
+		super(TemplateMode.HTML, dialectPrefix, null, false, ATTRIBUTE_NAME, true, PRECEDENCE, true);
+		
+		this.fragmentCache = fragmentCache;
+		this.defaultTtl = defaultTtl;
+	}
+	
+	@Override
+	protected void doProcess(
+	/* @formatter:off */
+		ITemplateContext context,
+		IProcessableElementTag tag,
+		AttributeName attributeName,
+		String attributeValue,
+		IElementTagStructureHandler structureHandler) {
+		/* @formatter:on */
+		
+		String prefix = attributeName.getPrefix();
+		String key = tag.getAttributeValue(prefix, "key");
+		String ttl = tag.getAttributeValue(prefix, "ttl");
+		
+		StringBuilder cacheKey = new StringBuilder(attributeValue.trim());
+		
+		if (StringUtils.hasText(key)) {
+			
+			Object evaluated = StandardExpressions.getExpressionParser(context.getConfiguration())
+				.parseExpression(context, key).execute(context);
+			
+			cacheKey.append('|').append(evaluated);
+		}
+		
+		Duration duration = StringUtils.hasText(ttl) ? Duration.ofSeconds(Long.parseLong(ttl.trim())) : this.defaultTtl;
+		
+		String rendered = this.fragmentCache.get(cacheKey.toString(), duration, () -> render(context, attributeValue));
+		
+		structureHandler.replaceWith(rendered, false);
+	}
+	
+	/**
+	 * Render fragment ({@code template :: selector} or {@code template})
+	 * 
+	 * @param context {@link ITemplateContext}
+	 * @param fragment fragment
+	 * @return rendered fragment
+	 */
+	protected static String render(@NonNull ITemplateContext context, @NonNull String fragment) {
+		
+		int separator = fragment.indexOf("::");
+		String template = (separator < 0 ? fragment : fragment.substring(0, separator)).trim();
+		String selector = separator < 0 ? null : fragment.substring(separator + 2).trim();
+		
+		if (template.isEmpty()) {
+			
+			throw new TemplateProcessingException(String.format("Invalid fragment: %s", fragment));
+		}
+		
+		TemplateManager templateManager = context.getConfiguration().getTemplateManager();
+		
+		/* @formatter:off */
+		TemplateModel model = templateManager.parseStandalone(
+			context,
+			template,
+			StringUtils.hasText(selector) ? Collections.singleton(selector) : null,
+			null,
+			true,
+			true);
+		/* @formatter:on */
+		
+		StringWriter writer = new StringWriter();
+		templateManager.process(model, context, writer);
+		
+		return writer.toString();
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.time.Duration;
+
+/**
+ * Fragment cache store
+ */
+public interface FragmentCacheStore {
+	
+	/**
+	 * Get
+	 * 
+	 * @param key key
+	 * @return rendered fragment or {@code null}
+	 */
+	String get(String key);
+	
+	/**
+	 * Get remaining TTL
+	 * 
+	 * @param key key
+	 * @return remaining TTL or {@code null} if not found or unknown
+	 */
+	default Duration getTtl(String key) {
+		
+		return null;
+	}
+	
+	/**
+	 * Put
+	 * 
+	 * @param key key
+	 * @param value rendered fragment
+	 * @param ttl TTL
+	 */
+	void put(String key, String value, Duration ttl);
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import lombok.NonNull;
+
+/**
+ * HTML source minifier
+ * 
+ * <p>
+ * Collapses whitespace in text and between attributes. Quoted attribute values, inlined expressions
+ * ({@code [[...]]} and {@code [(...)]}), comments and the contents of {@code pre}, {@code textarea}, {@code script}
+ * and {@code style} are kept as is.
+ * </p>
+ */
+public final class HtmlSourceMinifier {
+	
+	/**
+	 * Elements whose contents are kept as is
+	 */
+	public static final Set<String> RAW_ELEMENTS = new HashSet<>(Arrays.asList("pre", "textarea", "script", "style"));
+	
+	/**
+	 * Constructor
+	 */
+	private HtmlSourceMinifier() {
+		
+		// NOP
+	}
+	
+	/**
+	 * Minify
+	 * 
+	 * @param source source
+	 * @return minified source
+	 */
+	public static String minify(@NonNull String source) {
+		
+		StringBuilder result = new StringBuilder(source.length());
+		int length = source.length();
+		int index = 0;
+		boolean whitespace = false;
+		
+		while (index < length) {
+			
+			char c = source.charAt(index);
+			
+			if (c == '<' && source.startsWith("<!--", index)) {
+				
+				int end = source.indexOf("-->", index + 4);
+				end = end < 0 ? length : end + 3;
+				
+				result.append(source, index, end);
+				index = end;
+				whitespace = false;
+			}
+			else if (c == '<' && index + 1 < length && isTagStart(source.charAt(index + 1))) {
+				
+				int tag = result.length();
+				index = appendTag(source, index, result);
+				whitespace = false;
+				
+				String raw = rawElementName(result, tag);
+				
+				if (raw != null) {
+					
+					int end = indexOfIgnoreCase(source, "</" + raw, index);
+					end = end < 0 ? length : end;
+					
+					result.append(source, index, end);
+					index = end;
+				}
+			}
+			else if (source.startsWith("[[", index) || source.startsWith("[(", index)) {
+				
+				// Inlined expression: string literals must not change
+				int end = source.indexOf(source.charAt(index + 1) == '[' ? "]]" : ")]", index + 2);
+				end = end < 0 ? length : end + 2;
+				
+				result.append(source, index, end);
+				index = end;
+				whitespace = false;
+			}
+			else if (Character.isWhitespace(c)) {
+				
+				if (!whitespace) {
+					
+					result.append(' ');
+					whitespace = true;
+				}
+				
+				index++;
+			}
+			else {
+				
+				result.append(c);
+				whitespace = false;
+				index++;
+			}
+		}
+		
+		return result.toString();
+	}
+	
+	/**
+	 * Check if the character starts a tag name
+	 * 
+	 * @param c character
+	 * @return {@code true} if starts a tag name
+	 */
+	private static boolean isTagStart(char c) {
+		
+		return Character.isLetter(c) || c == '/' || c == '!';
+	}
+	
+	/**
+	 * Append tag with collapsed whitespace between attributes
+	 * 
+	 * @param source source
+	 * @param start start index
+	 * @param result result
+	 * @return index after the tag
+	 */
+	private static int appendTag(String source, int start, StringBuilder result) {
+		
+		int length = source.length();
+		int index = start;
+		char quote = 0;
+		boolean whitespace = false;
+		
+		while (index < length) {
+			
+			char c = source.charAt(index++);
+			
+			if (quote != 0) {
+				
+				result.append(c);
+				quote = c == quote ? 0 : quote;
+			}
+			else if (c == '"' || c == '\'') {
+				
+				result.append(c);
+				quote = c;
+				whitespace = false;
+			}
+			else if (Character.isWhitespace(c)) {
+				
+				if (!whitespace) {
+					
+					result.append(' ');
+					whitespace = true;
+				}
+			}
+			else {
+				
+				result.append(c);
+				whitespace = false;
+				
+				if (c == '>') {
+					
+					break;
+				}
+			}
+		}
+		
+		return index;
+	}
+	
+	/**
+	 * Get raw element name if the last appended tag opens a raw element
+	 * 
+	 * @param result result
+	 * @param start start index of the tag in the result
+	 * @return raw element name or {@code null}
+	 */
+	private static String rawElementName(StringBuilder result, int start) {
+		
+		if (result.charAt(result.length() - 1) != '>' || result.charAt(result.length() - 2) == '/') {
+			
+			return null;
+		}
+		
+		int end = start + 1;
+		
+		while (end < result.length() && Character.isLetterOrDigit(result.charAt(end))) {
+			
+			end++;
+		}
+		
+		String name = result.substring(start + 1, end).toLowerCase(Locale.ROOT);
+		
+		return RAW_ELEMENTS.contains(name) ? name : null;
+	}
+	
+	/**
+	 * Index of ignoring case
+	 * 
+	 * @param source source
+	 * @param target target
+	 * @param from from index
+	 * @return index or {@code -1}
+	 */
+	private static int indexOfIgnoreCase(String source, String target, int from) {
+		
+		for (int index = from; index <= source.length() - target.length(); index++) {
+			
+			if (source.regionMatches(true, index, target, 0, target.length())) {
+				
+				return index;
+			}
+		}
+		
+		return -1;
+	}
+}
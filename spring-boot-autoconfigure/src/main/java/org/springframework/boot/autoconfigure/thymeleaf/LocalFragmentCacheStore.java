@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link FragmentCacheStore}: bounded local LRU
+ */
+public class LocalFragmentCacheStore implements FragmentCacheStore {
+	
+	/**
+	 * Entries
+	 */
+	private final Map<String, Entry> entries;
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param maxEntries maximum number of entries
+	 */
+	public LocalFragmentCacheStore(int maxEntries) {
+		
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				
+				return this.size() > maxEntries;
+			}
+		};
+	}
+	
+	@Override
+	public synchronized String get(@NonNull String key) {
+		
+		Entry entry = this.entries.get(key);
+		
+		if (entry == null) {
+			
+			return null;
+		}
+		
+		if (entry.expiresAt < System.nanoTime()) {
+			
+			this.entries.remove(key);
+			
+			return null;
+		}
+		
+		return entry.value;
+	}
+	
+	@Override
+	public synchronized Duration getTtl(@NonNull String key) {
+		
+		Entry entry = this.entries.get(key);
+		long remaining = entry != null ? entry.expiresAt - System.nanoTime() : 0;
+		
+		return remaining > 0 ? Duration.ofNanos(remaining) : null;
+	}
+	
+	@Override
+	public synchronized void put(@NonNull String key, @NonNull String value, @NonNull Duration ttl) {
+		
+		this.entries.put(key, new Entry(value, System.nanoTime() + ttl.toNanos()));
+	}
+	
+	/**
+	 * Entry
+	 */
+	@RequiredArgsConstructor
+	private static class Entry {
+		
+		/**
+		 * Value
+		 */
+		private final String value;
+		
+		/**
+		 * Expiration time in {@link System#nanoTime()}
+		 */
+		private final long expiresAt;
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Map;
+
+import org.springframework.util.FileCopyUtils;
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.spring5.templateresolver.SpringResourceTemplateResolver;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresource.ITemplateResource;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link SpringResourceTemplateResolver}: minify HTML templates once when they are read
+ * 
+ * <p>
+ * The minified source is parsed and cached by Thymeleaf as usual, so it follows the template cache settings and
+ * nothing is minified on render.
+ * </p>
+ */
+public class MinifyingTemplateResolver extends SpringResourceTemplateResolver {
+	
+	@Override
+	protected ITemplateResource computeTemplateResource(
+	/* @formatter:off */
+		IEngineConfiguration configuration,
+		String ownerTemplate,
+		String template,
+		String resourceName,
+		String characterEncoding,
+		Map<String, Object> templateResolutionAttributes) {
+		/* @formatter:on */
+		
+		ITemplateResource resource = super.computeTemplateResource(configuration, ownerTemplate, template, resourceName,
+			characterEncoding, templateResolutionAttributes);
+		
+		if (this.getTemplateMode() != TemplateMode.HTML) {
+			
+			return resource;
+		}
+		
+		return new MinifiedTemplateResource(resource);
+	}
+	
+	/**
+	 * {@link ITemplateResource}: minified
+	 */
+	@RequiredArgsConstructor
+	protected static class MinifiedTemplateResource implements ITemplateResource {
+		
+		/**
+		 * {@link ITemplateResource}
+		 */
+		@NonNull
+		private final ITemplateResource resource;
+		
+		@Override
+		public String getDescription() {
+			
+			return this.resource.getDescription();
+		}
+		
+		@Override
+		public String getBaseName() {
+			
+			return this.resource.getBaseName();
+		}
+		
+		@Override
+		public boolean exists() {
+			
+			return this.resource.exists();
+		}
+		
+		@Override
+		public Reader reader() throws IOException {
+			
+			return new StringReader(HtmlSourceMinifier.minify(FileCopyUtils.copyToString(this.resource.reader())));
+		}
+		
+		@Override
+		public ITemplateResource relative(String relativeLocation) {
+			
+			return new MinifiedTemplateResource(this.resource.relative(relativeLocation));
+		}
+	}
+}
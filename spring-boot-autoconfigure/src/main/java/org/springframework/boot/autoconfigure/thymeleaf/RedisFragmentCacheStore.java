@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.util.FileCopyUtils;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link FragmentCacheStore}: Redis (values are stored gzip-compressed)
+ */
+@RequiredArgsConstructor
+public class RedisFragmentCacheStore implements FragmentCacheStore {
+	
+	/**
+	 * Key prefix
+	 */
+	public static final String KEY_PREFIX = "thymeleaf:fragment:";
+	
+	/**
+	 * {@link RedisConnectionFactory}
+	 */
+	@NonNull
+	private final RedisConnectionFactory connectionFactory;
+	
+	@Override
+	public String get(@NonNull String key) {
+		
+		byte[] value;
+		RedisConnection connection = this.connectionFactory.getConnection();
+		
+		try {
+			
+			value = connection.stringCommands().get(toBytes(KEY_PREFIX + key));
+		}
+		finally {
+			
+			connection.close();
+		}
+		
+		if (value == null) {
+			
+			return null;
+		}
+		
+		try {
+			
+			return FileCopyUtils.copyToString(
+				new InputStreamReader(new GZIPInputStream(new ByteArrayInputStream(value)), StandardCharsets.UTF_8));
+		}
+		catch (IOException e) {
+			
+			throw new IllegalStateException("Failed to decompress fragment", e);
+		}
+	}
+	
+	@Override
+	public Duration getTtl(@NonNull String key) {
+		
+		Long ttl;
+		RedisConnection connection = this.connectionFactory.getConnection();
+		
+		try {
+			
+			ttl = connection.keyCommands().pTtl(toBytes(KEY_PREFIX + key));
+		}
+		finally {
+			
+			connection.close();
+		}
+		
+		// -2: not found, -1: no expiration
+		return ttl != null && ttl > 0 ? Duration.ofMillis(ttl) : null;
+	}
+	
+	@Override
+	public void put(@NonNull String key, @NonNull String value, @NonNull Duration ttl) {
+		
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		
+		try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(compressed), StandardCharsets.UTF_8)) {
+			
+			writer.write(value);
+		}
+		catch (IOException e) {
+			
+			throw new IllegalStateException("Failed to compress fragment", e);
+		}
+		
+		RedisConnection connection = this.connectionFactory.getConnection();
+		
+		try {
+			
+			connection.stringCommands().setEx(toBytes(KEY_PREFIX + key), Math.max(ttl.getSeconds(), 1),
+				compressed.toByteArray());
+		}
+		finally {
+			
+			connection.close();
+		}
+	}
+	
+	/**
+	 * To bytes
+	 * 
+	 * @param value value
+	 * @return bytes
+	 */
+	private static byte[] toBytes(String value) {
+		
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.thymeleaf.dialect.AbstractDialect;
+import org.thymeleaf.dialect.IPostProcessorDialect;
+import org.thymeleaf.postprocessor.IPostProcessor;
+import org.thymeleaf.postprocessor.PostProcessor;
+import org.thymeleaf.templatemode.TemplateMode;
+
+/**
+ * {@link IPostProcessorDialect}: {@link StreamingMinifierTemplateHandler}
+ */
+public class StreamingMinifierDialect extends AbstractDialect implements IPostProcessorDialect {
+	
+	/**
+	 * Name
+	 */
+	public static final String NAME = "StreamingMinifier";
+	
+	/**
+	 * Precedence
+	 */
+	public static final int PRECEDENCE = 1000;
+	
+	/**
+	 * Constructor
+	 */
+	public StreamingMinifierDialect() {
+		
+		super(NAME);
+	}
+	
+	@Override
+	public int getDialectPostProcessorPrecedence() {
+		
+		return PRECEDENCE;
+	}
+	
+	@Override
+	public Set<IPostProcessor> getPostProcessors() {
+		
+		return Collections.singleton(
+			new PostProcessor(TemplateMode.HTML, StreamingMinifierTemplateHandler.class, PRECEDENCE));
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.util.Locale;
+
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.engine.AbstractTemplateHandler;
+import org.thymeleaf.model.ICloseElementTag;
+import org.thymeleaf.model.IComment;
+import org.thymeleaf.model.IDocType;
+import org.thymeleaf.model.IElementTag;
+import org.thymeleaf.model.IModelFactory;
+import org.thymeleaf.model.IOpenElementTag;
+import org.thymeleaf.model.IStandaloneElementTag;
+import org.thymeleaf.model.IText;
+
+/**
+ * {@link AbstractTemplateHandler}: streaming minifier
+ * 
+ * <p>
+ * Collapses whitespace in output text events one by one. Only the last whitespace state and the depth of raw elements
+ * ({@link HtmlSourceMinifier#RAW_ELEMENTS}) are kept across events, so nothing is buffered and chunked output is
+ * flushed as usual.
+ * </p>
+ */
+public class StreamingMinifierTemplateHandler extends AbstractTemplateHandler {
+	
+	/**
+	 * {@link IModelFactory}
+	 */
+	private IModelFactory modelFactory;
+	
+	/**
+	 * Whether the last output ended with whitespace
+	 */
+	private boolean whitespace;
+	
+	/**
+	 * Depth of raw elements
+	 */
+	private int rawDepth;
+	
+	@Override
+	public void setContext(ITemplateContext context) {
+		
+		super.setContext(context);
+		
+		this.modelFactory = context.getModelFactory();
+	}
+	
+	@Override
+	public void handleText(IText text) {
+		
+		if (this.rawDepth > 0) {
+			
+			this.whitespace = false;
+			super.handleText(text);
+			
+			return;
+		}
+		
+		String source = text.getText();
+		StringBuilder result = null;
+		
+		for (int index = 0; index < source.length(); index++) {
+			
+			char c = source.charAt(index);
+			boolean collapsed = Character.isWhitespace(c) && (this.whitespace || c != ' ');
+			
+			if (collapsed && result == null) {
+				
+				// First change: copy the unchanged part, allocated only for texts which change
+				result = new StringBuilder(source.length()).append(source, 0, index);
+			}
+			
+			if (!Character.isWhitespace(c)) {
+				
+				this.whitespace = false;
+			}
+			else if (!this.whitespace) {
+				
+				c = ' ';
+				this.whitespace = true;
+			}
+			else {
+				
+				continue;
+			}
+			
+			if (result != null) {
+				
+				result.append(c);
+			}
+		}
+		
+		if (result == null) {
+			
+			super.handleText(text);
+		}
+		else if (result.length() > 0) {
+			
+			super.handleText(this.modelFactory.createText(result.toString()));
+		}
+	}
+	
+	@Override
+	public void handleOpenElement(IOpenElementTag openElementTag) {
+		
+		if (isRaw(openElementTag)) {
+			
+			this.rawDepth++;
+		}
+		
+		this.whitespace = false;
+		super.handleOpenElement(openElementTag);
+	}
+	
+	@Override
+	public void handleCloseElement(ICloseElementTag closeElementTag) {
+		
+		if (isRaw(closeElementTag) && this.rawDepth > 0) {
+			
+			this.rawDepth--;
+		}
+		
+		this.whitespace = false;
+		super.handleCloseElement(closeElementTag);
+	}
+	
+	@Override
+	public void handleStandaloneElement(IStandaloneElementTag standaloneElementTag) {
+		
+		this.whitespace = false;
+		super.handleStandaloneElement(standaloneElementTag);
+	}
+	
+	@Override
+	public void handleComment(IComment comment) {
+		
+		this.whitespace = false;
+		super.handleComment(comment);
+	}
+	
+	@Override
+	public void handleDocType(IDocType docType) {
+		
+		this.whitespace = false;
+		super.handleDocType(docType);
+	}
+	
+	/**
+	 * Check if raw element
+	 * 
+	 * @param tag {@link IElementTag}
+	 * @return {@code true} if raw element
+	 */
+	private static boolean isRaw(IElementTag tag) {
+		
+		return HtmlSourceMinifier.RAW_ELEMENTS.contains(tag.getElementCompleteName().toLowerCase(Locale.ROOT));
+	}
+}
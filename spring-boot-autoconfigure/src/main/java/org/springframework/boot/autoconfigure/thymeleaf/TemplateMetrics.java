@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link MeterBinder}: per-template render time and output size
+ * 
+ * <p>
+ * Sizes are recorded before and after the minifier, so the difference is what minification saves for each template.
+ * Nothing is recorded until a {@link MeterRegistry} is bound.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class TemplateMetrics implements MeterBinder {
+	
+	/**
+	 * Render meter name
+	 */
+	public static final String RENDER_METER_NAME = "thymeleaf.template.render";
+	
+	/**
+	 * Size meter name
+	 */
+	public static final String SIZE_METER_NAME = "thymeleaf.template.size";
+	
+	/**
+	 * Template tag of string templates (whose name is the whole source)
+	 */
+	public static final String STRING_TEMPLATE = "string";
+	
+	/**
+	 * Handler name
+	 */
+	@NonNull
+	private final String handler;
+	
+	/**
+	 * {@link MeterRegistry}
+	 */
+	private volatile MeterRegistry meterRegistry;
+	
+	@Override
+	public void bindTo(@NonNull MeterRegistry registry) {
+		
+		this.meterRegistry = registry;
+	}
+	
+	/**
+	 * Check if bound
+	 * 
+	 * @return {@code true} if bound
+	 */
+	public boolean isBound() {
+		
+		return this.meterRegistry != null;
+	}
+	
+	/**
+	 * Record render time
+	 * 
+	 * @param template template name
+	 * @param nanos time in nanoseconds
+	 */
+	public void recordRender(@NonNull String template, long nanos) {
+		
+		MeterRegistry registry = this.meterRegistry;
+		
+		if (registry == null) {
+			
+			return;
+		}
+		
+		/* @formatter:off */
+		Timer.builder(RENDER_METER_NAME)
+			.tag("template", template)
+			.tag("handler", this.handler)
+			.register(registry)
+			.record(nanos, TimeUnit.NANOSECONDS);
+		/* @formatter:on */
+	}
+	
+	/**
+	 * Record output size
+	 * 
+	 * @param template template name
+	 * @param stage {@link Stage}
+	 * @param bytes size in bytes (UTF-8)
+	 */
+	public void recordSize(@NonNull String template, @NonNull Stage stage, long bytes) {
+		
+		MeterRegistry registry = this.meterRegistry;
+		
+		if (registry == null) {
+			
+			return;
+		}
+		
+		/* @formatter:off */
+		DistributionSummary.builder(SIZE_METER_NAME)
+			.baseUnit("bytes")
+			.tag("template", template)
+			.tag("handler", this.handler)
+			.tag("stage", stage.name().toLowerCase(Locale.ROOT))
+			.register(registry)
+			.record(bytes);
+		/* @formatter:on */
+	}
+	
+	/**
+	 * Stage
+	 */
+	public enum Stage {
+		
+		/**
+		 * Before the minifier
+		 */
+		BEFORE,
+		
+		/**
+		 * After the minifier
+		 */
+		AFTER
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.thymeleaf.dialect.AbstractDialect;
+import org.thymeleaf.dialect.IPostProcessorDialect;
+import org.thymeleaf.postprocessor.IPostProcessor;
+import org.thymeleaf.postprocessor.PostProcessor;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * {@link IPostProcessorDialect}: {@link TemplateMetricsTemplateHandler}
+ * 
+ * <p>
+ * Registered twice, with the lowest precedence for {@link TemplateMetrics.Stage#BEFORE} and the highest for
+ * {@link TemplateMetrics.Stage#AFTER}, so the post-processors of every other dialect (i.e. the minifier) run in
+ * between.
+ * </p>
+ */
+public class TemplateMetricsDialect extends AbstractDialect implements IPostProcessorDialect {
+	
+	/**
+	 * Name
+	 */
+	public static final String NAME = "TemplateMetrics";
+	
+	/**
+	 * {@link TemplateMetrics.Stage}
+	 */
+	@Getter
+	private final TemplateMetrics.Stage stage;
+	
+	/**
+	 * {@link TemplateMetrics}
+	 */
+	@Getter
+	private final TemplateMetrics templateMetrics;
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param stage {@link TemplateMetrics.Stage}
+	 * @param templateMetrics {@link TemplateMetrics}
+	 */
+	public TemplateMetricsDialect(@NonNull TemplateMetrics.Stage stage, @NonNull TemplateMetrics templateMetrics) {
+		
+		super(NAME + "-" + stage.name());
+		
+		this.stage = stage;
+		this.templateMetrics = templateMetrics;
+	}
+	
+	@Override
+	public int getDialectPostProcessorPrecedence() {
+		
+		return this.stage == TemplateMetrics.Stage.BEFORE ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+	}
+	
+	@Override
+	public Set<IPostProcessor> getPostProcessors() {
+		
+		Class<? extends TemplateMetricsTemplateHandler> handlerClass = this.stage == TemplateMetrics.Stage.BEFORE
+			? TemplateMetricsTemplateHandler.Before.class
+			: TemplateMetricsTemplateHandler.After.class;
+		
+		return Collections.singleton(new PostProcessor(TemplateMode.HTML, handlerClass, 0));
+	}
+}
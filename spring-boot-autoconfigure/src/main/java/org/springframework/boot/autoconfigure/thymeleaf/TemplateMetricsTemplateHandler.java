@@ -0,0 +1,332 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.dialect.IDialect;
+import org.thymeleaf.engine.AbstractTemplateHandler;
+import org.thymeleaf.engine.TemplateData;
+import org.thymeleaf.model.ICDATASection;
+import org.thymeleaf.model.ICloseElementTag;
+import org.thymeleaf.model.IComment;
+import org.thymeleaf.model.IDocType;
+import org.thymeleaf.model.IOpenElementTag;
+import org.thymeleaf.model.IProcessingInstruction;
+import org.thymeleaf.model.IStandaloneElementTag;
+import org.thymeleaf.model.ITemplateEnd;
+import org.thymeleaf.model.ITemplateEvent;
+import org.thymeleaf.model.ITemplateStart;
+import org.thymeleaf.model.IText;
+import org.thymeleaf.model.IXMLDeclaration;
+import org.thymeleaf.templateresource.StringTemplateResource;
+
+/**
+ * {@link AbstractTemplateHandler}: count output bytes and pass events through
+ * 
+ * <p>
+ * Post-processors are instantiated by Thymeleaf, so {@link TemplateMetrics} is looked up from the
+ * {@link TemplateMetricsDialect} of the same stage.
+ * </p>
+ */
+public abstract class TemplateMetricsTemplateHandler extends AbstractTemplateHandler {
+	
+	/**
+	 * {@link TemplateMetrics.Stage}
+	 */
+	private final TemplateMetrics.Stage stage;
+	
+	/**
+	 * {@link ByteCountingWriter}
+	 */
+	private final ByteCountingWriter counter = new ByteCountingWriter();
+	
+	/**
+	 * {@link TemplateMetrics}
+	 */
+	private TemplateMetrics templateMetrics;
+	
+	/**
+	 * Template name ({@link TemplateMetrics#STRING_TEMPLATE} for string templates)
+	 */
+	private String template;
+	
+	/**
+	 * Constructor
+	 * 
+	 * @param stage {@link TemplateMetrics.Stage}
+	 */
+	protected TemplateMetricsTemplateHandler(TemplateMetrics.Stage stage) {
+		
+		this.stage = stage;
+	}
+	
+	@Override
+	public void setContext(ITemplateContext context) {
+		
+		super.setContext(context);
+		
+		TemplateData templateData = context.getTemplateData();
+		
+		// Keep the tag bounded: string templates (e.g. StringTemplateResolver) are named by their whole source
+		this.template = templateData.getTemplateResource() instanceof StringTemplateResource
+			? TemplateMetrics.STRING_TEMPLATE
+			: templateData.getTemplate();
+		
+		for (IDialect dialect : context.getConfiguration().getDialects()) {
+			
+			if (dialect instanceof TemplateMetricsDialect
+				&& ((TemplateMetricsDialect) dialect).getStage() == this.stage) {
+				
+				TemplateMetrics templateMetrics = ((TemplateMetricsDialect) dialect).getTemplateMetrics();
+				this.templateMetrics = templateMetrics.isBound() ? templateMetrics : null;
+			}
+		}
+	}
+	
+	@Override
+	public void handleTemplateEnd(ITemplateEnd templateEnd) {
+		
+		super.handleTemplateEnd(templateEnd);
+		
+		if (this.templateMetrics != null) {
+			
+			this.templateMetrics.recordSize(this.template, this.stage, this.counter.getBytes());
+		}
+	}
+	
+	@Override
+	public void handleText(IText text) {
+		
+		this.count(text);
+		super.handleText(text);
+	}
+	
+	@Override
+	public void handleComment(IComment comment) {
+		
+		this.count(comment);
+		super.handleComment(comment);
+	}
+	
+	@Override
+	public void handleCDATASection(ICDATASection cdataSection) {
+		
+		this.count(cdataSection);
+		super.handleCDATASection(cdataSection);
+	}
+	
+	@Override
+	public void handleStandaloneElement(IStandaloneElementTag standaloneElementTag) {
+		
+		this.count(standaloneElementTag);
+		super.handleStandaloneElement(standaloneElementTag);
+	}
+	
+	@Override
+	public void handleOpenElement(IOpenElementTag openElementTag) {
+		
+		this.count(openElementTag);
+		super.handleOpenElement(openElementTag);
+	}
+	
+	@Override
+	public void handleCloseElement(ICloseElementTag closeElementTag) {
+		
+		this.count(closeElementTag);
+		super.handleCloseElement(closeElementTag);
+	}
+	
+	@Override
+	public void handleDocType(IDocType docType) {
+		
+		this.count(docType);
+		super.handleDocType(docType);
+	}
+	
+	@Override
+	public void handleXMLDeclaration(IXMLDeclaration xmlDeclaration) {
+		
+		this.count(xmlDeclaration);
+		super.handleXMLDeclaration(xmlDeclaration);
+	}
+	
+	@Override
+	public void handleProcessingInstruction(IProcessingInstruction processingInstruction) {
+		
+		this.count(processingInstruction);
+		super.handleProcessingInstruction(processingInstruction);
+	}
+	
+	/**
+	 * Get {@link TemplateMetrics}
+	 * 
+	 * @return {@link TemplateMetrics} or {@code null} if not bound
+	 */
+	protected TemplateMetrics getTemplateMetrics() {
+		
+		return this.templateMetrics;
+	}
+	
+	/**
+	 * Get template name
+	 * 
+	 * @return template name
+	 */
+	protected String getTemplate() {
+		
+		return this.template;
+	}
+	
+	/**
+	 * Count the bytes of the event
+	 * 
+	 * @param event {@link ITemplateEvent}
+	 */
+	private void count(ITemplateEvent event) {
+		
+		if (this.templateMetrics == null) {
+			
+			return;
+		}
+		
+		try {
+			
+			event.write(this.counter);
+		}
+		catch (IOException e) {
+			
+			throw new IllegalStateException("Failed to count template event", e);
+		}
+	}
+	
+	/**
+	 * {@link TemplateMetricsTemplateHandler}: before the minifier (also times the render)
+	 */
+	public static class Before extends TemplateMetricsTemplateHandler {
+		
+		/**
+		 * Start time
+		 */
+		private long start;
+		
+		/**
+		 * Constructor
+		 */
+		public Before() {
+			
+			super(TemplateMetrics.Stage.BEFORE);
+		}
+		
+		@Override
+		public void handleTemplateStart(ITemplateStart templateStart) {
+			
+			this.start = System.nanoTime();
+			
+			super.handleTemplateStart(templateStart);
+		}
+		
+		@Override
+		public void handleTemplateEnd(ITemplateEnd templateEnd) {
+			
+			// Downstream handlers (minifier and output) run inside
+			super.handleTemplateEnd(templateEnd);
+			
+			if (this.getTemplateMetrics() != null) {
+				
+				this.getTemplateMetrics().recordRender(this.getTemplate(), System.nanoTime() - this.start);
+			}
+		}
+	}
+	
+	/**
+	 * {@link TemplateMetricsTemplateHandler}: after the minifier
+	 */
+	public static class After extends TemplateMetricsTemplateHandler {
+		
+		/**
+		 * Constructor
+		 */
+		public After() {
+			
+			super(TemplateMetrics.Stage.AFTER);
+		}
+	}
+	
+	/**
+	 * {@link Writer}: count UTF-8 bytes without keeping the output
+	 */
+	private static class ByteCountingWriter extends Writer {
+		
+		/**
+		 * Bytes
+		 */
+		private long bytes;
+		
+		@Override
+		public void write(char[] buffer, int offset, int length) {
+			
+			for (int index = offset; index < offset + length; index++) {
+				
+				this.count(buffer[index]);
+			}
+		}
+		
+		@Override
+		public void write(String string, int offset, int length) {
+			
+			for (int index = offset; index < offset + length; index++) {
+				
+				this.count(string.charAt(index));
+			}
+		}
+		
+		@Override
+		public void flush() {
+			
+			// NOP
+		}
+		
+		@Override
+		public void close() {
+			
+			// NOP
+		}
+		
+		/**
+		 * Get bytes
+		 * 
+		 * @return bytes
+		 */
+		public long getBytes() {
+			
+			return this.bytes;
+		}
+		
+		/**
+		 * Count a character (a surrogate pair counts 4 bytes)
+		 * 
+		 * @param c character
+		 */
+		private void count(char c) {
+			
+			this.bytes += c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+		}
+	}
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.cache.AlwaysValidCacheEntryValidity;
+import org.thymeleaf.cache.ICache;
+import org.thymeleaf.cache.ICacheManager;
+import org.thymeleaf.cache.TemplateCacheKey;
+import org.thymeleaf.context.EngineContext;
+import org.thymeleaf.context.ITemplateContext;
+import org.thymeleaf.engine.TemplateData;
+import org.thymeleaf.engine.TemplateManager;
+import org.thymeleaf.engine.TemplateModel;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresource.StringTemplateResource;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Template warm-up: parse all templates under the prefix into the template cache in parallel on startup
+ * 
+ * <p>
+ * Templates are parsed with {@link TemplateManager#parseStandalone} only, so no expression is evaluated. The parsed
+ * models are put into the template cache under the key that {@link TemplateManager#parseAndProcess} looks up on
+ * render. Without the template cache ({@code spring.thymeleaf.cache=false}) the warm-up is skipped.
+ * </p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TemplateWarmUp implements SmartInitializingSingleton {
+	
+	/**
+	 * {@link CustomThymeleafProperties}
+	 */
+	@NonNull
+	private final CustomThymeleafProperties properties;
+	
+	/**
+	 * {@link ResourcePatternResolver}
+	 */
+	@NonNull
+	private final ResourcePatternResolver resourcePatternResolver;
+	
+	/**
+	 * {@link ITemplateEngine}s
+	 */
+	@NonNull
+	private final ObjectProvider<ITemplateEngine> templateEngines;
+	
+	@Override
+	public void afterSingletonsInstantiated() {
+		
+		if (!this.properties.isCache()) {
+			
+			log.warn("Template warm-up is skipped because the template cache is disabled");
+			
+			return;
+		}
+		
+		List<String> templates = this.findTemplates();
+		
+		this.templateEngines.orderedStream().forEach(templateEngine -> this.warmUp(templateEngine, templates));
+	}
+	
+	/**
+	 * Warm up
+	 * 
+	 * @param templateEngine {@link ITemplateEngine}
+	 * @param templates template names
+	 */
+	protected void warmUp(@NonNull ITemplateEngine templateEngine, @NonNull List<String> templates) {
+		
+		CustomThymeleafProperties.WarmUp warmUp = this.properties.getWarmUp();
+		int parallelism = warmUp.getParallelism() > 0 ? warmUp.getParallelism()
+			: Runtime.getRuntime().availableProcessors();
+		
+		IEngineConfiguration configuration = templateEngine.getConfiguration();
+		ICacheManager cacheManager = configuration.getCacheManager();
+		ICache<TemplateCacheKey, TemplateModel> templateCache = cacheManager != null ? cacheManager.getTemplateCache()
+			: null;
+		
+		if (templateCache == null) {
+			
+			log.warn("Template warm-up is skipped because the template engine has no template cache");
+			
+			return;
+		}
+		
+		TemplateManager templateManager = configuration.getTemplateManager();
+		Map<String, Exception> failures = new ConcurrentHashMap<>();
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+		long start = System.nanoTime();
+		
+		try {
+			
+			for (String template : templates) {
+				
+				executor.execute(() -> {
+					
+					try {
+						
+						/* @formatter:off */
+						TemplateModel model = templateManager.parseStandalone(
+							this.createContext(configuration),
+							template,
+							null,
+							null,
+							false,
+							true);
+						/* @formatter:on */
+						
+						if (model.getTemplateData().getValidity().isCacheable()) {
+							
+							templateCache.put(createCacheKey(template), model);
+						}
+					}
+					catch (RuntimeException e) {
+						
+						failures.put(template, e);
+					}
+				});
+			}
+			
+			executor.shutdown();
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+		}
+		catch (InterruptedException e) {
+			
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			
+			executor.shutdownNow();
+		}
+		
+		log.info("Warmed up {} templates in {} ms", templates.size(),
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		
+		failures.forEach((template, e) -> log.warn("Failed to parse template: {}", template, e));
+		
+		if (!failures.isEmpty() && warmUp.isFailOnError()) {
+			
+			throw new IllegalStateException(String.format("Failed to parse templates: %s", failures.keySet()));
+		}
+	}
+	
+	/**
+	 * Create {@link TemplateCacheKey} looked up on render
+	 * 
+	 * <p>
+	 * Same as {@link TemplateManager#parseAndProcess} for a template without owner template, selectors, template mode
+	 * and resolution attributes, as rendered by views and {@code ITemplateEngine.process(template, context)}.
+	 * </p>
+	 * 
+	 * @param template template name
+	 * @return {@link TemplateCacheKey}
+	 */
+	protected static TemplateCacheKey createCacheKey(String template) {
+		
+		return new TemplateCacheKey(null, template, null, 0, 0, null, null);
+	}
+	
+	/**
+	 * Create {@link ITemplateContext} for parsing
+	 * 
+	 * @param configuration {@link IEngineConfiguration}
+	 * @return {@link ITemplateContext}
+	 */
+	protected ITemplateContext createContext(IEngineConfiguration configuration) {
+		
+		/* @formatter:off */
+		TemplateData templateData = new TemplateData(
+			TemplateWarmUp.class.getSimpleName(),
+			null,
+			new StringTemplateResource(""),
+			TemplateMode.HTML,
+			AlwaysValidCacheEntryValidity.INSTANCE);
+		/* @formatter:on */
+		
+		return new EngineContext(configuration, templateData, null, Locale.getDefault(), Collections.emptyMap());
+	}
+	
+	/**
+	 * Find template names under the prefix
+	 * 
+	 * @return template names
+	 */
+	protected List<String> findTemplates() {
+		
+		String prefix = this.properties.getPrefix();
+		String suffix = this.properties.getSuffix();
+		String path = prefix.substring(prefix.indexOf(':') + 1).replaceFirst("^(\\./|/)+", "");
+		String pattern = prefix.startsWith(ResourcePatternResolver.CLASSPATH_URL_PREFIX)
+			? ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX
+				+ prefix.substring(ResourcePatternResolver.CLASSPATH_URL_PREFIX.length())
+			: prefix;
+		
+		List<String> templates = new ArrayList<>();
+		
+		try {
+			
+			List<String> roots = new ArrayList<>();
+			
+			for (Resource root : this.resourcePatternResolver.getResources(pattern)) {
+				
+				roots.add(root.getURL().toString());
+			}
+			
+			for (Resource resource : this.resourcePatternResolver.getResources(pattern + "**/*" + suffix)) {
+				
+				String url = resource.getURL().toString();
+				String root = roots.stream().filter(url::startsWith).findFirst().orElse(null);
+				int start = root != null ? root.length() : url.lastIndexOf("/" + path) + path.length() + 1;
+				
+				if (resource.isReadable() && start > path.length()) {
+					
+					templates.add(url.substring(start, url.length() - suffix.length()).replaceFirst("^/+", ""));
+				}
+			}
+		}
+		catch (IOException e) {
+			
+			throw new IllegalStateException("Failed to find templates", e);
+		}
+		
+		return templates;
+	}
+}
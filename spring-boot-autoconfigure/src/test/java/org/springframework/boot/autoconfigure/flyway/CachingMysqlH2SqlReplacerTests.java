@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.flyway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * {@link CachingMysqlH2SqlReplacer} tests
+ */
+public class CachingMysqlH2SqlReplacerTests {
+	
+	/**
+	 * {@link TemporaryFolder}
+	 */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+	
+	/**
+	 * Cache directory
+	 */
+	private Path directory;
+	
+	/**
+	 * Set up
+	 * 
+	 * @throws Exception if failed
+	 */
+	@Before
+	public void setUp() throws Exception {
+		
+		this.directory = this.temporaryFolder.newFolder().toPath();
+	}
+	
+	/**
+	 * A script is translated on a miss and read from its cache file on a hit
+	 */
+	@Test
+	public void missAndHit() {
+		
+		CountingReplacer miss = new CountingReplacer(this.directory, "1");
+		
+		assertThat(migrate(miss, "V1.sql", 1, "a", "b", "a")).containsExactly("[a]", "[b]", "[a]");
+		assertThat(miss.translated).containsExactly("a", "b");
+		assertThat(this.files()).hasSize(1);
+		
+		CountingReplacer hit = new CountingReplacer(this.directory, "1");
+		
+		assertThat(migrate(hit, "V1.sql", 1, "a", "b")).containsExactly("[a]", "[b]");
+		assertThat(hit.translated).isEmpty();
+		assertThat(this.files()).hasSize(1);
+	}
+	
+	/**
+	 * A changed checksum or replacer version misses and replaces the stale cache file
+	 */
+	@Test
+	public void invalidation() {
+		
+		migrate(new CountingReplacer(this.directory, "1"), "V1.sql", 1, "a");
+		migrate(new CountingReplacer(this.directory, "1"), "V2.sql", 1, "a");
+		
+		String[] files = this.files();
+		
+		CountingReplacer checksum = new CountingReplacer(this.directory, "1");
+		migrate(checksum, "V1.sql", 2, "a");
+		
+		assertThat(checksum.translated).containsExactly("a");
+		assertThat(this.files()).hasSize(2).filteredOn(Arrays.asList(files)::contains).hasSize(1);
+		
+		CountingReplacer version = new CountingReplacer(this.directory, "2");
+		migrate(version, "V1.sql", 2, "a");
+		migrate(version, "V2.sql", 1, "a");
+		
+		assertThat(version.translated).containsExactly("a", "a");
+		assertThat(this.files()).hasSize(2).doesNotContainAnyElementsOf(Arrays.asList(files));
+	}
+	
+	/**
+	 * Failed scripts, Java migrations and statements outside a migration are not cached
+	 */
+	@Test
+	public void notCached() {
+		
+		CountingReplacer replacer = new CountingReplacer(this.directory, "1");
+		
+		replacer.begin("V1.sql", 1);
+		replacer.replacePlaceholders("a");
+		replacer.end(false);
+		
+		replacer.begin("V2__Java", null);
+		replacer.replacePlaceholders("b");
+		replacer.end(true);
+		
+		replacer.replacePlaceholders("c");
+		replacer.replacePlaceholders("c");
+		
+		assertThat(replacer.translated).containsExactly("a", "b", "c", "c");
+		assertThat(this.files()).isEmpty();
+	}
+	
+	/**
+	 * Migrate a script
+	 * 
+	 * @param replacer {@link CachingMysqlH2SqlReplacer}
+	 * @param script script
+	 * @param checksum checksum
+	 * @param sqls SQLs
+	 * @return translated SQLs
+	 */
+	private static List<String> migrate(CachingMysqlH2SqlReplacer replacer, String script, int checksum,
+		String... sqls) {
+		
+		List<String> outputs = new ArrayList<>();
+		
+		replacer.begin(script, checksum);
+		
+		for (String sql : sqls) {
+			
+			outputs.add(replacer.replacePlaceholders(sql));
+		}
+		
+		replacer.end(true);
+		
+		return outputs;
+	}
+	
+	/**
+	 * Get cache file names
+	 * 
+	 * @return file names
+	 */
+	private String[] files() {
+		
+		return this.directory.toFile().list((directory, name) -> name.endsWith(CachingMysqlH2SqlReplacer.SUFFIX));
+	}
+	
+	/**
+	 * {@link CachingMysqlH2SqlReplacer}: record translated SQLs
+	 */
+	private static class CountingReplacer extends CachingMysqlH2SqlReplacer {
+		
+		/**
+		 * Translated SQLs
+		 */
+		private final List<String> translated = new ArrayList<>();
+		
+		/**
+		 * Constructor
+		 * 
+		 * @param directory cache directory
+		 * @param version replacer version
+		 */
+		private CountingReplacer(Path directory, String version) {
+			
+			super(directory, version);
+		}
+		
+		@Override
+		protected String translate(String input) {
+			
+			this.translated.add(input);
+			
+			return "[" + input + "]";
+		}
+	}
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.flyway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.MysqlH2FlywayMigrationStrategy.MigrationGroup;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * {@link MysqlH2FlywayMigrationStrategy} tests (same settings as the {@code test-flyway} profile)
+ */
+public class MysqlH2FlywayMigrationStrategyTests {
+	
+	/**
+	 * {@link TemporaryFolder}
+	 */
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+	
+	/**
+	 * The H2 fast path leaves the same objects as {@link Flyway#clean()}
+	 * 
+	 * @throws SQLException if failed
+	 */
+	@Test
+	public void cleanH2LikeFlyway() throws SQLException {
+		
+		Flyway fast = migrate("clean-fast");
+		Flyway standard = migrate("clean-standard");
+		
+		assertThat(objects(fast)).containsExactlyElementsOf(objects(standard)).isNotEmpty();
+		
+		RecordingStrategy strategy = new RecordingStrategy();
+		strategy.clean(fast, fast);
+		standard.clean();
+		
+		assertThat(strategy.sqls).contains("DROP ALL OBJECTS");
+		assertThat(objects(fast)).isEmpty().containsExactlyElementsOf(objects(standard));
+		
+		new MysqlH2FlywayMigrationStrategy().migrate(fast);
+		new MysqlH2FlywayMigrationStrategy().migrate(standard);
+		
+		assertThat(objects(fast)).containsExactlyElementsOf(objects(standard)).isNotEmpty();
+	}
+	
+	/**
+	 * The H2 fast path is not used if the database contains other schemas
+	 * 
+	 * @throws SQLException if failed
+	 */
+	@Test
+	public void cleanH2WithOtherSchema() throws SQLException {
+		
+		Flyway flyway = migrate("clean-other");
+		execute(flyway, "CREATE TABLE PUBLIC.OTHER (ID INT)");
+		
+		RecordingStrategy strategy = new RecordingStrategy();
+		strategy.clean(flyway, flyway);
+		
+		assertThat(strategy.sqls).doesNotContain("DROP ALL OBJECTS");
+		assertThat(objects(flyway)).isEmpty();
+		assertThat(count(flyway, "SELECT COUNT(*) FROM PUBLIC.OTHER")).isZero();
+	}
+	
+	/**
+	 * The H2 fast path is not used in group mode
+	 * 
+	 * @throws SQLException if failed
+	 */
+	@Test
+	public void cleanH2WithGroups() throws SQLException {
+		
+		Flyway flyway = migrate("clean-groups");
+		
+		RecordingStrategy strategy = new RecordingStrategy();
+		strategy.setGroups(Arrays.asList(new MigrationGroup().setName("foo")));
+		strategy.clean(flyway, flyway);
+		
+		assertThat(strategy.sqls).doesNotContain("DROP ALL OBJECTS");
+		assertThat(objects(flyway)).isEmpty();
+	}
+	
+	/**
+	 * A snapshot is not saved from a database with leftover data, only from a fresh one
+	 * 
+	 * @throws Exception if failed
+	 */
+	@Test
+	public void snapshotOnlyFromFreshDatabase() throws Exception {
+		
+		String snapshotDir = this.temporaryFolder.newFolder().getPath();
+		
+		Flyway leftover = migrate("snapshot-leftover");
+		execute(leftover, "INSERT INTO \"foo\".\"foo\" VALUES (2, 2, 'leftover')");
+		
+		new MysqlH2FlywayMigrationStrategy().setSnapshotDir(snapshotDir).migrate(leftover);
+		
+		assertThat(new File(snapshotDir).list()).isEmpty();
+		
+		new MysqlH2FlywayMigrationStrategy().setSnapshotDir(snapshotDir).setClean(true).migrate(leftover);
+		
+		assertThat(new File(snapshotDir).list()).hasSize(1);
+		assertThat(count(leftover, "SELECT COUNT(*) FROM \"foo\".\"foo\"")).isEqualTo(1);
+		
+		RecordingStrategy strategy = new RecordingStrategy();
+		Flyway fresh = flyway("snapshot-fresh");
+		strategy.setSnapshotDir(snapshotDir).migrate(fresh);
+		
+		assertThat(strategy.sqls).anyMatch(sql -> sql.startsWith("RUNSCRIPT"));
+		assertThat(objects(fresh)).containsExactlyElementsOf(objects(leftover));
+		assertThat(count(fresh, "SELECT COUNT(*) FROM \"foo\".\"foo\"")).isEqualTo(1);
+	}
+	
+	/**
+	 * Groups are migrated after their dependencies
+	 */
+	@Test
+	public void groupsInDependencyOrder() {
+		
+		GroupRecordingStrategy strategy = new GroupRecordingStrategy();
+		
+		/* @formatter:off */
+		strategy.setParallelism(3).setGroups(Arrays.asList(
+			group("a", "b", "c"),
+			group("b", "c"),
+			group("c")));
+		/* @formatter:on */
+		
+		strategy.migrate(flyway("groups-order"));
+		
+		assertThat(strategy.migrated).containsExactly("c", "b", "a");
+	}
+	
+	/**
+	 * Circular dependencies are rejected before any group is migrated
+	 */
+	@Test
+	public void groupsWithCircularDependency() {
+		
+		GroupRecordingStrategy strategy = new GroupRecordingStrategy();
+		strategy.setGroups(Arrays.asList(group("z"), group("a", "b"), group("b", "a")));
+		
+		assertThatThrownBy(() -> strategy.migrate(flyway("groups-circular"))).isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("Circular group dependency");
+		assertThat(strategy.migrated).isEmpty();
+	}
+	
+	/**
+	 * Unknown dependencies are rejected before any group is migrated
+	 */
+	@Test
+	public void groupsWithUnknownDependency() {
+		
+		GroupRecordingStrategy strategy = new GroupRecordingStrategy();
+		strategy.setGroups(Arrays.asList(group("z"), group("a", "unknown")));
+		
+		assertThatThrownBy(() -> strategy.migrate(flyway("groups-unknown"))).isInstanceOf(IllegalStateException.class)
+			.hasMessage("Group not found: unknown");
+		assertThat(strategy.migrated).isEmpty();
+	}
+	
+	/**
+	 * Create {@link MigrationGroup} whose schema is the name
+	 * 
+	 * @param name name
+	 * @param dependsOn names of dependencies
+	 * @return {@link MigrationGroup}
+	 */
+	private static MigrationGroup group(String name, String... dependsOn) {
+		
+		/* @formatter:off */
+		return new MigrationGroup()
+			.setName(name)
+			.setSchemas(Collections.singletonList(name))
+			.setDependsOn(Arrays.asList(dependsOn));
+		/* @formatter:on */
+	}
+	
+	/**
+	 * Create {@link Flyway} and migrate
+	 * 
+	 * @param database database name
+	 * @return {@link Flyway}
+	 */
+	private static Flyway migrate(String database) {
+		
+		Flyway flyway = flyway(database);
+		new MysqlH2FlywayMigrationStrategy().migrate(flyway);
+		
+		return flyway;
+	}
+	
+	/**
+	 * Create {@link Flyway} (same settings as the {@code test-flyway} profile)
+	 * 
+	 * @param database database name
+	 * @return {@link Flyway}
+	 */
+	private static Flyway flyway(String database) {
+		
+		/* @formatter:off */
+		return Flyway.configure()
+			.dataSource(String.format("jdbc:h2:mem:%s;MODE=MySQL;DATABASE_TO_UPPER=FALSE;DB_CLOSE_DELAY=-1", database),
+				"sa", "")
+			.locations("classpath:/flyway")
+			.schemas("foo", "bar")
+			.sqlMigrationPrefix("")
+			.sqlMigrationSeparator("-")
+			.load();
+		/* @formatter:on */
+	}
+	
+	/**
+	 * Get tables and sequences in the configured schemas
+	 * 
+	 * @param flyway {@link Flyway}
+	 * @return {@code schema.name}s
+	 * @throws SQLException if failed
+	 */
+	private static List<String> objects(Flyway flyway) throws SQLException {
+		
+		/* @formatter:off */
+		String sql = "SELECT TABLE_SCHEMA || '.' || TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+			+ "WHERE TABLE_SCHEMA IN ('foo', 'bar') "
+			+ "UNION SELECT SEQUENCE_SCHEMA || '.' || SEQUENCE_NAME FROM INFORMATION_SCHEMA.SEQUENCES "
+			+ "WHERE SEQUENCE_SCHEMA IN ('foo', 'bar') "
+			+ "ORDER BY 1";
+		/* @formatter:on */
+		
+		List<String> objects = new ArrayList<>();
+		
+		try (Connection connection = flyway.getConfiguration().getDataSource().getConnection();
+			Statement statement = connection.createStatement();
+			ResultSet resultSet = statement.executeQuery(sql)) {
+			
+			while (resultSet.next()) {
+				
+				objects.add(resultSet.getString(1));
+			}
+		}
+		
+		return objects;
+	}
+	
+	/**
+	 * Count
+	 * 
+	 * @param flyway {@link Flyway}
+	 * @param sql SQL
+	 * @return count
+	 * @throws SQLException if failed
+	 */
+	private static long count(Flyway flyway, String sql) throws SQLException {
+		
+		try (Connection connection = flyway.getConfiguration().getDataSource().getConnection();
+			Statement statement = connection.createStatement();
+			ResultSet resultSet = statement.executeQuery(sql)) {
+			
+			resultSet.next();
+			
+			return resultSet.getLong(1);
+		}
+	}
+	
+	/**
+	 * Execute
+	 * 
+	 * @param flyway {@link Flyway}
+	 * @param sql SQL
+	 * @throws SQLException if failed
+	 */
+	private static void execute(Flyway flyway, String sql) throws SQLException {
+		
+		try (Connection connection = flyway.getConfiguration().getDataSource().getConnection();
+			Statement statement = connection.createStatement()) {
+			
+			statement.execute(sql);
+		}
+	}
+	
+	/**
+	 * {@link MysqlH2FlywayMigrationStrategy}: record executed SQLs
+	 */
+	private static class RecordingStrategy extends MysqlH2FlywayMigrationStrategy {
+		
+		/**
+		 * Executed SQLs
+		 */
+		private final List<String> sqls = new ArrayList<>();
+		
+		@Override
+		protected void execute(Flyway source, String... sqls) {
+			
+			this.sqls.addAll(Arrays.asList(sqls));
+			
+			super.execute(source, sqls);
+		}
+	}
+	
+	/**
+	 * {@link MysqlH2FlywayMigrationStrategy}: record migrated groups by their first schema without migrating
+	 */
+	private static class GroupRecordingStrategy extends MysqlH2FlywayMigrationStrategy {
+		
+		/**
+		 * Migrated groups
+		 */
+		private final List<String> migrated = Collections.synchronizedList(new ArrayList<>());
+		
+		@Override
+		protected void migrateInternal(Flyway source) {
+			
+			this.migrated.add(source.getConfiguration().getSchemas()[0]);
+		}
+	}
+}
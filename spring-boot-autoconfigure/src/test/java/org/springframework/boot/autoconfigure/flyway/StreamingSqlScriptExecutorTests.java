@@ -0,0 +1,251 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.flyway;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * {@link StreamingSqlScriptExecutor} tests
+ */
+public class StreamingSqlScriptExecutorTests {
+	
+	/**
+	 * MySQL quotes are translated and doubled quotes keep their meaning
+	 * 
+	 * @throws Exception if failed
+	 */
+	@Test
+	public void quotesMysqlToH2() throws Exception {
+		
+		assertThat(execute(true, "SELECT \"a\"\"b\", 'c''d', \"e'f\", `g``h`, `i\"j`"))
+			.containsExactly("SELECT 'a\"b', 'c''d', 'e''f', \"g`h\", \"i\"\"j\"");
+	}
+	
+	/**
+	 * Quotes are kept as is without translation
+	 * 
+	 * @throws Exception if failed
+	 */
+	@Test
+	public void quotes() throws Exception {
+		
+		assertThat(execute(false, "SELECT \"a\"\"b\", 'c''d', \"e'f\""))
+			.containsExactly("SELECT \"a\"\"b\", 'c''d', \"e'f\"");
+	}
+	
+	/**
+	 * MySQL backslash escapes are translated
+	 * 
+	 * @throws Exception if failed
+	 */
+	@Test
+	public void escapesMysqlToH2() throws Exception {
+		
+		assertThat(execute(true, "SELECT 'a\\'b', \"c\\\"d\", 'e\\nf', 'g\\\\h', 'i\\;j'"))
+			.containsExactly("SELECT 'a''b', 'c\"d', 'e\nf', 'g\\h', 'i;j'");
+	}
+	
+	/**
+	 * Backslash escapes are kept as is without translation
+	 * 
+	 * @throws Exception if failed
+	 */
+	@Test
+	public void escapes() throws Exception {
+		
+		assertThat(execute(false, "SELECT 'a\\'b;', 'c\\\\'; SELECT 1"))
+			.containsExactly("SELECT 'a\\'b;', 'c\\\\'", "SELECT 1");
+	}
+	
+	/**
+	 * Semicolons inside strings and identifiers do not end statements
+	 * 
+	 * @throws Exception if failed
+	 */
+	@Test
+	public void semicolonsInStrings() throws Exception {
+		
+		assertThat(execute(true, "SELECT 'a;b';SELECT \"c;d\";\nSELECT `e;f`;"))
+			.containsExactly("SELECT 'a;b'", "SELECT 'c;d'", "SELECT \"e;f\"");
+	}
+	
+	/**
+	 * MySQL comments are removed
+	 * 
+	 * @throws Exception if failed
+	 */
+	@Test
+	public void commentsMysqlToH2() throws Exception {
+		
+		assertThat(execute(true, "-- a; 'b\nSELECT 1; # c; \"d\nSELECT /* e; `f */2"))
+			.containsExactly("SELECT 1", "SELECT  2");
+	}
+	
+	/**
+	 * Comments are kept without translation and semicolons inside them do not end statements
+	 * 
+	 * @throws Exception if failed
+	 */
+	@Test
+	public void comments() throws Exception {
+		
+		assertThat(execute(false, "SELECT 1 /* a; 'b */; SELECT 2 -- c; \"d\n"))
+			.containsExactly("SELECT 1 /* a; 'b */", "SELECT 2 -- c; \"d");
+	}
+	
+	/**
+	 * {@code SET FOREIGN_KEY_CHECKS} is translated
+	 * 
+	 * @throws Exception if failed
+	 */
+	@Test
+	public void foreignKeyChecks() throws Exception {
+		
+		assertThat(execute(true, "SET FOREIGN_KEY_CHECKS = 0; SET FOREIGN_KEY_CHECKS=1;"))
+			.containsExactly("SET REFERENTIAL_INTEGRITY FALSE", "SET REFERENTIAL_INTEGRITY TRUE");
+	}
+	
+	/**
+	 * Consecutive INSERTs with the same prefix are combined until another statement
+	 * 
+	 * @throws Exception if failed
+	 */
+	@Test
+	public void batch() throws Exception {
+		
+		/* @formatter:off */
+		List<String> sqls = execute(true,
+			"INSERT INTO t VALUES (1, 'a;'); INSERT INTO t VALUES (2, 'b'), (3, 'c');\n"
+			+ "INSERT INTO t (id) VALUES (4); INSERT INTO u VALUES (5);\n"
+			+ "DELETE FROM t; INSERT INTO t VALUES (6)");
+		/* @formatter:on */
+		
+		/* @formatter:off */
+		assertThat(sqls).containsExactly(
+			"INSERT INTO t VALUES (1, 'a;'), (2, 'b'), (3, 'c')",
+			"INSERT INTO t (id) VALUES (4)",
+			"INSERT INTO u VALUES (5)",
+			"DELETE FROM t",
+			"INSERT INTO t VALUES (6)");
+		/* @formatter:on */
+	}
+	
+	/**
+	 * Combined INSERTs are split by {@link StreamingSqlScriptExecutor#setBatchSize(int)}
+	 * 
+	 * @throws Exception if failed
+	 */
+	@Test
+	public void batchSize() throws Exception {
+		
+		StreamingSqlScriptExecutor executor = new StreamingSqlScriptExecutor().setBatchSize(2);
+		List<String> sqls = new ArrayList<>();
+		
+		long count = executor.execute(connection(sqls),
+			new StringReader("INSERT INTO t VALUES (1); INSERT INTO t VALUES (2); INSERT INTO t VALUES (3);"));
+		
+		assertThat(count).isEqualTo(3);
+		assertThat(sqls).containsExactly("INSERT INTO t VALUES (1), (2)", "INSERT INTO t VALUES (3)");
+	}
+	
+	/**
+	 * INSERTs with clauses after the rows are not combined
+	 * 
+	 * @throws Exception if failed
+	 */
+	@Test
+	public void batchOnDuplicateKey() throws Exception {
+		
+		/* @formatter:off */
+		assertThat(execute(false,
+			"INSERT INTO t VALUES (1); INSERT INTO t VALUES (2) ON DUPLICATE KEY UPDATE v = ')'; INSERT INTO t VALUES (3)"))
+			.containsExactly(
+				"INSERT INTO t VALUES (1)",
+				"INSERT INTO t VALUES (2) ON DUPLICATE KEY UPDATE v = ')'",
+				"INSERT INTO t VALUES (3)");
+		/* @formatter:on */
+	}
+	
+	/**
+	 * {@link StreamingSqlScriptExecutor#isRows(String)}
+	 */
+	@Test
+	public void isRows() {
+		
+		StreamingSqlScriptExecutor executor = new StreamingSqlScriptExecutor();
+		
+		assertThat(executor.isRows("(1, ')'), (2, CONCAT('a', 'b'))")).isTrue();
+		assertThat(executor.isRows("(1, 'a\\')'),(2)")).isTrue();
+		assertThat(executor.isRows("(1) ON DUPLICATE KEY UPDATE v = 1")).isFalse();
+		assertThat(executor.isRows("(1),")).isFalse();
+		assertThat(executor.isRows("(1")).isFalse();
+		assertThat(executor.isRows("")).isFalse();
+	}
+	
+	/**
+	 * Execute a script and record the executed SQL
+	 * 
+	 * @param mysqlToH2 {@link StreamingSqlScriptExecutor#setMysqlToH2(boolean)}
+	 * @param script script
+	 * @return executed SQL
+	 * @throws IOException if failed to read
+	 * @throws SQLException if failed to execute
+	 */
+	private static List<String> execute(boolean mysqlToH2, String script) throws IOException, SQLException {
+		
+		List<String> sqls = new ArrayList<>();
+		new StreamingSqlScriptExecutor().setMysqlToH2(mysqlToH2).execute(connection(sqls), new StringReader(script));
+		
+		return sqls;
+	}
+	
+	/**
+	 * Create a {@link Connection} whose {@link Statement} records executed SQL
+	 * 
+	 * @param sqls executed SQL
+	 * @return {@link Connection}
+	 */
+	private static Connection connection(List<String> sqls) {
+		
+		Statement statement = (Statement) Proxy.newProxyInstance(Statement.class.getClassLoader(),
+			new Class<?>[] { Statement.class }, (proxy, method, args) -> {
+				
+				if ("execute".equals(method.getName())) {
+					
+					sqls.add((String) args[0]);
+					
+					return false;
+				}
+				
+				return null;
+			});
+		
+		return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+			new Class<?>[] { Connection.class }, (proxy, method, args) -> statement);
+	}
+}
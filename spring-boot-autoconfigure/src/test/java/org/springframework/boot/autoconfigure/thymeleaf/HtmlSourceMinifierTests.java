@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+/**
+ * {@link HtmlSourceMinifier} tests
+ */
+public class HtmlSourceMinifierTests {
+	
+	/**
+	 * Whitespace in text and between attributes is collapsed, quoted attribute values are kept
+	 */
+	@Test
+	public void collapse() {
+		
+		assertThat(HtmlSourceMinifier.minify("<p   class=\"a   b\"   id='c  d'  >\n  e   [ f ]\n</p>"))
+			.isEqualTo("<p class=\"a   b\" id='c  d' > e [ f ] </p>");
+	}
+	
+	/**
+	 * Inlined expressions are kept as is
+	 */
+	@Test
+	public void inlinedExpressions() {
+		
+		assertThat(HtmlSourceMinifier.minify("<p>\n  a   [[${'x   y'}]]\n  [(${\"z \n w\"})]  b\n</p>"))
+			.isEqualTo("<p> a [[${'x   y'}]] [(${\"z \n w\"})] b </p>");
+	}
+	
+	/**
+	 * Contents of raw elements are kept as is
+	 */
+	@Test
+	public void rawElements() {
+		
+		/* @formatter:off */
+		assertThat(HtmlSourceMinifier.minify("<pre>\n  a   b\n</pre>\n  <textarea  rows=\"2\">  c   d </textarea>  "
+			+ "<SCRIPT>\n var x = 'a   b';\n</SCRIPT>  <style> p  { } </style>"))
+			.isEqualTo("<pre>\n  a   b\n</pre> <textarea rows=\"2\">  c   d </textarea> "
+				+ "<SCRIPT>\n var x = 'a   b';\n</SCRIPT> <style> p  { } </style>");
+		/* @formatter:on */
+	}
+	
+	/**
+	 * Comments are kept as is
+	 */
+	@Test
+	public void comments() {
+		
+		assertThat(HtmlSourceMinifier.minify("<!--  a   b  -->\n  <p>  c  </p>"))
+			.isEqualTo("<!--  a   b  --> <p> c </p>");
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@link TemplateMetricsTemplateHandler} tests
+ */
+public class TemplateMetricsTemplateHandlerTests {
+	
+	/**
+	 * String templates are tagged with {@link TemplateMetrics#STRING_TEMPLATE} instead of their source
+	 */
+	@Test
+	public void stringTemplateTag() {
+		
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		TemplateMetrics templateMetrics = new TemplateMetrics("none");
+		templateMetrics.bindTo(registry);
+		
+		ClassLoaderTemplateResolver resourceResolver = new ClassLoaderTemplateResolver();
+		resourceResolver.setPrefix("templates/");
+		resourceResolver.setSuffix(".html");
+		resourceResolver.setCheckExistence(true);
+		resourceResolver.setOrder(1);
+		
+		StringTemplateResolver stringResolver = new StringTemplateResolver();
+		stringResolver.setOrder(2);
+		
+		TemplateEngine templateEngine = new TemplateEngine();
+		templateEngine.addTemplateResolver(resourceResolver);
+		templateEngine.addTemplateResolver(stringResolver);
+		templateEngine.addDialect(new TemplateMetricsDialect(TemplateMetrics.Stage.BEFORE, templateMetrics));
+		templateEngine.addDialect(new TemplateMetricsDialect(TemplateMetrics.Stage.AFTER, templateMetrics));
+		
+		Context context = new Context();
+		context.setVariable("name", "foo");
+		
+		assertThat(templateEngine.process("metrics", context).trim()).isEqualTo("<p>foo</p>");
+		assertThat(templateEngine.process("<p th:text=\"${name}\">name</p>", context)).isEqualTo("<p>foo</p>");
+		
+		/* @formatter:off */
+		assertThat(registry.find(TemplateMetrics.RENDER_METER_NAME).meters().stream()
+			.map(meter -> meter.getId().getTag("template"))
+			.collect(Collectors.toList()))
+			.containsExactlyInAnyOrder("metrics", TemplateMetrics.STRING_TEMPLATE);
+		assertThat(registry.find(TemplateMetrics.SIZE_METER_NAME).meters().stream()
+			.map(Meter::getId)
+			.map(id -> id.getTag("template"))
+			.distinct()
+			.collect(Collectors.toList()))
+			.containsExactlyInAnyOrder("metrics", TemplateMetrics.STRING_TEMPLATE);
+		/* @formatter:on */
+	}
+}
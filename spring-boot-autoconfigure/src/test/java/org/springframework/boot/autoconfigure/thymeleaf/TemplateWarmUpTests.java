@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+import org.thymeleaf.templateresource.ITemplateResource;
+
+/**
+ * {@link TemplateWarmUp} tests
+ */
+public class TemplateWarmUpTests {
+	
+	/**
+	 * A template rendered after warm-up is served from the template cache
+	 */
+	@Test
+	public void renderFromCache() {
+		
+		CountingTemplateResolver resolver = new CountingTemplateResolver();
+		resolver.setPrefix("templates/");
+		resolver.setSuffix(".html");
+		
+		TemplateEngine templateEngine = new TemplateEngine();
+		templateEngine.setTemplateResolver(resolver);
+		
+		/* @formatter:off */
+		TemplateWarmUp warmUp = new TemplateWarmUp(
+			new CustomThymeleafProperties(),
+			new PathMatchingResourcePatternResolver(),
+			new DefaultListableBeanFactory().getBeanProvider(ITemplateEngine.class));
+		/* @formatter:on */
+		
+		warmUp.warmUp(templateEngine, Collections.singletonList("warm-up"));
+		
+		assertThat(resolver.resolutions).hasValue(1);
+		assertThat(templateEngine.getConfiguration().getCacheManager().getTemplateCache().keySet())
+			.containsExactly(TemplateWarmUp.createCacheKey("warm-up"));
+		
+		Context context = new Context();
+		context.setVariable("name", "foo");
+		
+		assertThat(templateEngine.process("warm-up", context).trim()).isEqualTo("<p>foo</p>");
+		assertThat(resolver.resolutions).hasValue(1);
+		assertThat(templateEngine.getConfiguration().getCacheManager().getTemplateCache().keySet()).hasSize(1);
+	}
+	
+	/**
+	 * {@link ClassLoaderTemplateResolver}: count resolutions
+	 */
+	private static class CountingTemplateResolver extends ClassLoaderTemplateResolver {
+		
+		/**
+		 * Resolutions
+		 */
+		private final AtomicInteger resolutions = new AtomicInteger();
+		
+		@Override
+		protected ITemplateResource computeTemplateResource(IEngineConfiguration configuration, String ownerTemplate,
+			String template, String resourceName, String characterEncoding,
+			Map<String, Object> templateResolutionAttributes) {
+			
+			this.resolutions.incrementAndGet();
+			
+			return super.computeTemplateResource(configuration, ownerTemplate, template, resourceName,
+				characterEncoding, templateResolutionAttributes);
+		}
+	}
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.claudb;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.util.SocketUtils;
+
+import com.github.tonivade.claudb.ClauDB;
+import com.github.tonivade.resp.RespServer;
+
+import redis.clients.jedis.Jedis;
+
+/**
+ * Benchmark: throughput of concurrent clients against the embedded ClauDB
+ * 
+ * <p>
+ * Each thread has its own connection and its own keys, so single-key commands never contend on the same key. Compare
+ * the scores of the same command across thread counts: flat scores mean command execution is serialized by the
+ * server.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class RespConcurrencyBenchmark {
+	
+	/**
+	 * Number of keys per client
+	 */
+	public static final int KEYS = 1024;
+	
+	/**
+	 * SET with 1 client
+	 * 
+	 * @param client {@link Client}
+	 * @return reply
+	 */
+	@Benchmark
+	@Threads(1)
+	public String set1(Client client) {
+		
+		return client.set();
+	}
+	
+	/**
+	 * SET with 4 clients
+	 * 
+	 * @param client {@link Client}
+	 * @return reply
+	 */
+	@Benchmark
+	@Threads(4)
+	public String set4(Client client) {
+		
+		return client.set();
+	}
+	
+	/**
+	 * SET with as many clients as processors
+	 * 
+	 * @param client {@link Client}
+	 * @return reply
+	 */
+	@Benchmark
+	@Threads(Threads.MAX)
+	public String setMax(Client client) {
+		
+		return client.set();
+	}
+	
+	/**
+	 * GET with as many clients as processors
+	 * 
+	 * @param client {@link Client}
+	 * @return reply
+	 */
+	@Benchmark
+	@Threads(Threads.MAX)
+	public String getMax(Client client) {
+		
+		return client.get();
+	}
+	
+	/**
+	 * MSET (multi-key, atomic) with as many clients as processors
+	 * 
+	 * @param client {@link Client}
+	 * @return reply
+	 */
+	@Benchmark
+	@Threads(Threads.MAX)
+	public String msetMax(Client client) {
+		
+		return client.mset();
+	}
+	
+	/**
+	 * Server
+	 */
+	@State(Scope.Benchmark)
+	public static class Server {
+		
+		/**
+		 * Port
+		 */
+		private int port;
+		
+		/**
+		 * {@link RespServer}
+		 */
+		private RespServer server;
+		
+		/**
+		 * Client ID sequence
+		 */
+		private final AtomicInteger sequence = new AtomicInteger();
+		
+		/**
+		 * Set up
+		 */
+		@Setup
+		public void setUp() {
+			
+			this.port = SocketUtils.findAvailableTcpPort();
+			
+			this.server = ClauDB.builder().port(this.port).build();
+			this.server.start();
+		}
+		
+		/**
+		 * Tear down
+		 */
+		@TearDown
+		public void tearDown() {
+			
+			this.server.stop();
+		}
+	}
+	
+	/**
+	 * Client
+	 */
+	@State(Scope.Thread)
+	public static class Client {
+		
+		/**
+		 * {@link Jedis}
+		 */
+		private Jedis jedis;
+		
+		/**
+		 * Keys
+		 */
+		private String[] keys;
+		
+		/**
+		 * Set up
+		 * 
+		 * @param server {@link Server}
+		 */
+		@Setup
+		public void setUp(Server server) {
+			
+			int id = server.sequence.getAndIncrement();
+			
+			this.jedis = new Jedis("localhost", server.port);
+			this.keys = new String[KEYS];
+			
+			for (int index = 0; index < KEYS; index++) {
+				
+				this.keys[index] = "benchmark:" + id + ":" + index;
+				this.jedis.set(this.keys[index], "value");
+			}
+		}
+		
+		/**
+		 * Tear down
+		 */
+		@TearDown
+		public void tearDown() {
+			
+			this.jedis.close();
+		}
+		
+		/**
+		 * SET a random key of this client
+		 * 
+		 * @return reply
+		 */
+		protected String set() {
+			
+			return this.jedis.set(this.nextKey(), "value");
+		}
+		
+		/**
+		 * GET a random key of this client
+		 * 
+		 * @return reply
+		 */
+		protected String get() {
+			
+			return this.jedis.get(this.nextKey());
+		}
+		
+		/**
+		 * MSET two random keys of this client
+		 * 
+		 * @return reply
+		 */
+		protected String mset() {
+			
+			return this.jedis.mset(this.nextKey(), "value", this.nextKey(), "value");
+		}
+		
+		/**
+		 * Next key
+		 * 
+		 * @return key
+		 */
+		private String nextKey() {
+			
+			return this.keys[ThreadLocalRandom.current().nextInt(KEYS)];
+		}
+	}
+}
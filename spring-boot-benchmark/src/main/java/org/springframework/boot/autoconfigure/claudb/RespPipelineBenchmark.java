@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.claudb;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.SocketUtils;
+
+import com.github.tonivade.claudb.ClauDB;
+import com.github.tonivade.resp.RespServer;
+
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.Pipeline;
+import redis.clients.jedis.Transaction;
+
+/**
+ * Benchmark: pipelined and {@code MULTI}/{@code EXEC} batches against the embedded ClauDB
+ * 
+ * <p>
+ * Scores are batches per second. Multiply by {@link #depth} for commands per second: it stops growing with the
+ * depth once the server is CPU bound rather than round trip bound.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class RespPipelineBenchmark {
+	
+	/**
+	 * Commands per batch
+	 */
+	@Param({ "1", "10", "100", "1000" })
+	private int depth;
+	
+	/**
+	 * {@link RespServer}
+	 */
+	private RespServer server;
+	
+	/**
+	 * {@link Jedis}
+	 */
+	private Jedis jedis;
+	
+	/**
+	 * Keys
+	 */
+	private String[] keys;
+	
+	/**
+	 * Set up
+	 */
+	@Setup
+	public void setUp() {
+		
+		int port = SocketUtils.findAvailableTcpPort();
+		
+		this.server = ClauDB.builder().port(port).build();
+		this.server.start();
+		
+		this.jedis = new Jedis("localhost", port);
+		this.keys = new String[this.depth];
+		
+		for (int index = 0; index < this.depth; index++) {
+			
+			this.keys[index] = "benchmark:pipeline:" + index;
+		}
+	}
+	
+	/**
+	 * Tear down
+	 */
+	@TearDown
+	public void tearDown() {
+		
+		this.jedis.close();
+		this.server.stop();
+	}
+	
+	/**
+	 * One round trip per command
+	 */
+	@Benchmark
+	public void sequential() {
+		
+		for (String key : this.keys) {
+			
+			this.jedis.set(key, "value");
+		}
+	}
+	
+	/**
+	 * Pipelined: all commands written before the replies are read
+	 */
+	@Benchmark
+	public void pipelined() {
+		
+		Pipeline pipeline = this.jedis.pipelined();
+		
+		for (String key : this.keys) {
+			
+			pipeline.set(key, "value");
+		}
+		
+		pipeline.sync();
+	}
+	
+	/**
+	 * {@code MULTI}/{@code EXEC}: queued and executed atomically by the server
+	 * 
+	 * @return replies
+	 */
+	@Benchmark
+	public List<Object> transaction() {
+		
+		Transaction transaction = this.jedis.multi();
+		
+		for (String key : this.keys) {
+			
+			transaction.set(key, "value");
+		}
+		
+		return transaction.exec();
+	}
+}
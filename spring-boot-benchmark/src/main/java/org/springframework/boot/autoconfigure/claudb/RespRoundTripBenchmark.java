@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.claudb;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.SocketUtils;
+
+import com.github.tonivade.claudb.ClauDB;
+import com.github.tonivade.resp.RespServer;
+
+import redis.clients.jedis.Jedis;
+
+/**
+ * Benchmark: RESP round trips against the embedded ClauDB (as started by {@link ClauDbAutoConfiguration})
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class RespRoundTripBenchmark {
+	
+	/**
+	 * {@link RespServer}
+	 */
+	private RespServer server;
+	
+	/**
+	 * {@link Jedis}
+	 */
+	private Jedis jedis;
+	
+	/**
+	 * Set up
+	 */
+	@Setup
+	public void setUp() {
+		
+		int port = SocketUtils.findAvailableTcpPort();
+		
+		this.server = ClauDB.builder().port(port).build();
+		this.server.start();
+		
+		this.jedis = new Jedis("localhost", port);
+		this.jedis.set("benchmark:get", "value");
+	}
+	
+	/**
+	 * Tear down
+	 */
+	@TearDown
+	public void tearDown() {
+		
+		this.jedis.close();
+		this.server.stop();
+	}
+	
+	/**
+	 * PING
+	 * 
+	 * @return reply
+	 */
+	@Benchmark
+	public String ping() {
+		
+		return this.jedis.ping();
+	}
+	
+	/**
+	 * SET
+	 * 
+	 * @return reply
+	 */
+	@Benchmark
+	public String set() {
+		
+		return this.jedis.set("benchmark:set", "value");
+	}
+	
+	/**
+	 * GET
+	 * 
+	 * @return reply
+	 */
+	@Benchmark
+	public String get() {
+		
+		return this.jedis.get("benchmark:get");
+	}
+}
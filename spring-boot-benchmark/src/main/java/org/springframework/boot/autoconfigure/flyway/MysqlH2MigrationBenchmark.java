@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.flyway;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.CustomFlyway;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.internal.placeholder.MysqlH2SqlReplacer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Benchmark: MySQL-H2 translation throughput of {@link MysqlH2SqlReplacer} through {@link CustomFlyway}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class MysqlH2MigrationBenchmark {
+	
+	/**
+	 * URL
+	 */
+	public static final String URL = "jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_UPPER=FALSE;DB_CLOSE_DELAY=-1";
+	
+	/**
+	 * Number of inserted rows
+	 */
+	@Param({ "100", "10000" })
+	private int rows;
+	
+	/**
+	 * Script directory
+	 */
+	private Path directory;
+	
+	/**
+	 * {@link Flyway}
+	 */
+	private Flyway flyway;
+	
+	/**
+	 * Set up
+	 * 
+	 * @throws IOException if failed to write scripts
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		
+		this.directory = Files.createTempDirectory("flyway-benchmark");
+		
+		writeScripts(this.directory, this.rows);
+		
+		/* @formatter:off */
+		this.flyway = Flyway.configure()
+			.dataSource(URL, "sa", "")
+			.schemas("bench")
+			.locations("filesystem:" + this.directory)
+			.sqlMigrationPrefix("")
+			.sqlMigrationSeparator("-")
+			.load();
+		/* @formatter:on */
+	}
+	
+	/**
+	 * Clean (migrations take milliseconds, so per-invocation set-up does not skew the result)
+	 */
+	@Setup(Level.Invocation)
+	public void clean() {
+		
+		this.flyway.clean();
+	}
+	
+	/**
+	 * Tear down
+	 * 
+	 * @throws IOException if failed to delete scripts
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		
+		FileSystemUtils.deleteRecursively(this.directory);
+	}
+	
+	/**
+	 * Migrate
+	 */
+	@Benchmark
+	public void migrate() {
+		
+		new CustomFlyway(this.flyway, new MysqlH2SqlReplacer()).migrate();
+	}
+	
+	/**
+	 * Write MySQL scripts
+	 * 
+	 * @param directory directory
+	 * @param rows number of inserted rows
+	 * @throws IOException if failed to write
+	 */
+	protected static void writeScripts(Path directory, int rows) throws IOException {
+		
+		List<String> create = new ArrayList<>();
+		create.add("CREATE TABLE IF NOT EXISTS `bench`.`item` (");
+		create.add("  `id` BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT 'ID',");
+		create.add("  `code` VARCHAR(64) NOT NULL COMMENT 'Code',");
+		create.add("  PRIMARY KEY (`id`))");
+		create.add("ENGINE = InnoDB");
+		create.add("COMMENT = 'Item';");
+		
+		List<String> insert = new ArrayList<>(rows);
+		
+		for (int row = 1; row <= rows; row++) {
+			
+			insert.add(String.format("INSERT INTO `bench`.`item` VALUES ('%d', 'item\\'s code %d');", row, row));
+		}
+		
+		Files.write(directory.resolve("20010101_100-CREATE_TABLE.sql"), create, StandardCharsets.UTF_8);
+		Files.write(directory.resolve("20010101_101-INSERT.sql"), insert, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.flyway;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Benchmark: migration through {@link MysqlH2FlywayMigrationStrategy} without translation cache, with a cold cache
+ * (translate and write) and with a warm cache (read per script)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class MysqlH2TranslationCacheBenchmark {
+	
+	/**
+	 * Number of inserted rows
+	 */
+	@Param({ "100", "10000" })
+	private int rows;
+	
+	/**
+	 * Translation cache: {@code none}, {@code cold} or {@code warm}
+	 */
+	@Param({ "none", "cold", "warm" })
+	private String cache;
+	
+	/**
+	 * Script directory
+	 */
+	private Path directory;
+	
+	/**
+	 * Translation cache directory
+	 */
+	private Path cacheDirectory;
+	
+	/**
+	 * {@link Flyway}
+	 */
+	private Flyway flyway;
+	
+	/**
+	 * {@link MysqlH2FlywayMigrationStrategy}
+	 */
+	private MysqlH2FlywayMigrationStrategy strategy;
+	
+	/**
+	 * Set up
+	 * 
+	 * @throws IOException if failed to write scripts
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		
+		this.directory = Files.createTempDirectory("flyway-benchmark");
+		this.cacheDirectory = Files.createTempDirectory("flyway-benchmark-cache");
+		
+		MysqlH2MigrationBenchmark.writeScripts(this.directory, this.rows);
+		
+		/* @formatter:off */
+		this.flyway = Flyway.configure()
+			.dataSource(MysqlH2MigrationBenchmark.URL, "sa", "")
+			.schemas("bench")
+			.locations("filesystem:" + this.directory)
+			.sqlMigrationPrefix("")
+			.sqlMigrationSeparator("-")
+			.load();
+		/* @formatter:on */
+		
+		this.strategy = new MysqlH2FlywayMigrationStrategy();
+		
+		if (!"none".equals(this.cache)) {
+			
+			this.strategy.setTranslationCacheDir(this.cacheDirectory.toString());
+		}
+		
+		if ("warm".equals(this.cache)) {
+			
+			this.strategy.migrate(this.flyway);
+		}
+	}
+	
+	/**
+	 * Clean (and empty the cache if cold)
+	 * 
+	 * @throws IOException if failed to delete the cache
+	 */
+	@Setup(Level.Invocation)
+	public void clean() throws IOException {
+		
+		this.flyway.clean();
+		
+		if ("cold".equals(this.cache)) {
+			
+			FileSystemUtils.deleteRecursively(this.cacheDirectory);
+		}
+	}
+	
+	/**
+	 * Tear down
+	 * 
+	 * @throws IOException if failed to delete scripts
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		
+		FileSystemUtils.deleteRecursively(this.directory);
+		FileSystemUtils.deleteRecursively(this.cacheDirectory);
+	}
+	
+	/**
+	 * Migrate
+	 */
+	@Benchmark
+	public void migrate() {
+		
+		this.strategy.migrate(this.flyway);
+	}
+}
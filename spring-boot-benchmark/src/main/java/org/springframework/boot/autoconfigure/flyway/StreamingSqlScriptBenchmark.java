@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.flyway;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Benchmark: {@link StreamingSqlScriptExecutor} on the same INSERT script as {@link MysqlH2MigrationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class StreamingSqlScriptBenchmark {
+	
+	/**
+	 * Number of inserted rows
+	 */
+	@Param({ "100", "10000" })
+	private int rows;
+	
+	/**
+	 * Script directory
+	 */
+	private Path directory;
+	
+	/**
+	 * {@link Connection}
+	 */
+	private Connection connection;
+	
+	/**
+	 * Set up
+	 * 
+	 * @throws IOException if failed to write scripts
+	 * @throws SQLException if failed to connect
+	 */
+	@Setup
+	public void setUp() throws IOException, SQLException {
+		
+		this.directory = Files.createTempDirectory("flyway-benchmark");
+		this.connection = DriverManager.getConnection(MysqlH2MigrationBenchmark.URL, "sa", "");
+		
+		MysqlH2MigrationBenchmark.writeScripts(this.directory, this.rows);
+	}
+	
+	/**
+	 * Recreate table
+	 * 
+	 * @throws SQLException if failed to execute
+	 */
+	@Setup(Level.Invocation)
+	public void recreate() throws SQLException {
+		
+		try (Statement statement = this.connection.createStatement()) {
+			
+			statement.execute("DROP SCHEMA IF EXISTS bench CASCADE");
+			statement.execute("CREATE SCHEMA bench");
+			statement.execute("CREATE TABLE bench.item (id BIGINT PRIMARY KEY, code VARCHAR(64) NOT NULL)");
+		}
+	}
+	
+	/**
+	 * Tear down
+	 * 
+	 * @throws IOException if failed to delete scripts
+	 * @throws SQLException if failed to close
+	 */
+	@TearDown
+	public void tearDown() throws IOException, SQLException {
+		
+		this.connection.close();
+		
+		FileSystemUtils.deleteRecursively(this.directory);
+	}
+	
+	/**
+	 * Execute
+	 * 
+	 * @return number of executed statements
+	 * @throws IOException if failed to read
+	 * @throws SQLException if failed to execute
+	 */
+	@Benchmark
+	public long execute() throws IOException, SQLException {
+		
+		Path script = this.directory.resolve("20010101_101-INSERT.sql");
+		
+		try (Reader reader = Files.newBufferedReader(script, StandardCharsets.UTF_8)) {
+			
+			return new StreamingSqlScriptExecutor().setMysqlToH2(true).execute(this.connection, reader);
+		}
+	}
+}
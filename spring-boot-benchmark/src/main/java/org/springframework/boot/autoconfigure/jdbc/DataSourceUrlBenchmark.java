@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.jdbc;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark: {@link CustomDataSourceProperties#determineUrl()}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class DataSourceUrlBenchmark {
+	
+	/**
+	 * Database
+	 */
+	@Param({ "h2", "mysql" })
+	private String database;
+	
+	/**
+	 * {@link CustomDataSourceProperties}
+	 */
+	private CustomDataSourceProperties properties;
+	
+	/**
+	 * {@link CustomDataSourceProperties.JdbcUrlParams}
+	 */
+	private CustomDataSourceProperties.JdbcUrlParams params;
+	
+	/**
+	 * Set up
+	 */
+	@Setup
+	public void setUp() {
+		
+		Map<String, Object> h2 = new LinkedHashMap<>();
+		h2.put("mode", "MySQL");
+		h2.put("db-close-delay", -1);
+		h2.put("database-to-upper", false);
+		
+		Map<String, Object> mysql = new LinkedHashMap<>();
+		mysql.put("use-ssl", false);
+		mysql.put("character-encoding", "utf8");
+		mysql.put("server-timezone", "UTC");
+		
+		this.properties = new CustomDataSourceProperties();
+		this.properties.getParameter().put("h2", h2);
+		this.properties.getParameter().put("mysql", mysql);
+		this.params = CustomDataSourceProperties.JdbcUrlParams.valueOf(this.database.toUpperCase(Locale.ROOT));
+		this.properties.setUrl("h2".equals(this.database) ? "jdbc:h2:mem:test" : "jdbc:mysql://localhost:3306/test");
+	}
+	
+	/**
+	 * Determine URL
+	 * 
+	 * @return URL
+	 */
+	@Benchmark
+	public String determineUrl() {
+		
+		return this.properties.determineUrl();
+	}
+	
+	/**
+	 * Convert key
+	 * 
+	 * @return key
+	 */
+	@Benchmark
+	public String convertKey() {
+		
+		return this.params.convertKey("database-to-upper");
+	}
+}
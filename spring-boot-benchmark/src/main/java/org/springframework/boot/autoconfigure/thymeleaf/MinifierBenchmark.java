@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.thymeleaf;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.extras.minify.dialect.MinifierDialect;
+import org.thymeleaf.extras.minify.engine.SimpleMinifierTemplateHandler;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+/**
+ * Benchmark: render throughput per minify mode
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class MinifierBenchmark {
+	
+	/**
+	 * Mode ({@code none} or {@link CustomThymeleafProperties.Minify.Mode})
+	 */
+	@Param({ "none", "handler", "source", "streaming" })
+	private String mode;
+	
+	/**
+	 * {@link TemplateEngine}
+	 */
+	private TemplateEngine templateEngine;
+	
+	/**
+	 * Template
+	 */
+	private String template;
+	
+	/**
+	 * {@link Context}
+	 */
+	private Context context;
+	
+	/**
+	 * Set up
+	 */
+	@Setup
+	public void setUp() {
+		
+		StringTemplateResolver templateResolver = new StringTemplateResolver();
+		templateResolver.setTemplateMode(TemplateMode.HTML);
+		templateResolver.setCacheable(true);
+		
+		this.templateEngine = new TemplateEngine();
+		this.templateEngine.setTemplateResolver(templateResolver);
+		
+		if ("handler".equals(this.mode)) {
+			
+			this.templateEngine.addDialect(new MinifierDialect(SimpleMinifierTemplateHandler.class));
+		}
+		else if ("streaming".equals(this.mode)) {
+			
+			this.templateEngine.addDialect(new StreamingMinifierDialect());
+		}
+		
+		this.template = "source".equals(this.mode) ? HtmlSourceMinifier.minify(createTemplate()) : createTemplate();
+		
+		List<String> items = new ArrayList<>();
+		
+		for (int index = 0; index < 200; index++) {
+			
+			items.add("item " + index);
+		}
+		
+		this.context = new Context();
+		this.context.setVariable("items", items);
+	}
+	
+	/**
+	 * Render
+	 * 
+	 * @return output
+	 */
+	@Benchmark
+	public String render() {
+		
+		return this.templateEngine.process(this.template, this.context);
+	}
+	
+	/**
+	 * Minify the template source (cost paid once per template in {@code source} mode)
+	 * 
+	 * @return minified source
+	 */
+	@Benchmark
+	public String minifySource() {
+		
+		return HtmlSourceMinifier.minify(this.template);
+	}
+	
+	/**
+	 * Create template
+	 * 
+	 * @return template
+	 */
+	protected static String createTemplate() {
+		
+		StringBuilder template = new StringBuilder();
+		template.append("<!DOCTYPE html>\n");
+		template.append("<html>\n");
+		template.append("    <head>\n");
+		template.append("        <title>Benchmark</title>\n");
+		template.append("        <style>\n");
+		template.append("            body   { margin: 0; }\n");
+		template.append("        </style>\n");
+		template.append("    </head>\n");
+		template.append("    <body>\n");
+		template.append("        <!-- items -->\n");
+		template.append("        <ul    class=\"items\"\n");
+		template.append("               id=\"items\">\n");
+		template.append("            <li th:each=\"item : ${items}\">\n");
+		template.append("                <span   th:text=\"${item}\">   item   </span>\n");
+		template.append("            </li>\n");
+		template.append("        </ul>\n");
+		template.append("        <pre>\n");
+		template.append("    keep   as   is\n");
+		template.append("        </pre>\n");
+		template.append("    </body>\n");
+		template.append("</html>\n");
+		
+		return template.toString();
+	}
+}